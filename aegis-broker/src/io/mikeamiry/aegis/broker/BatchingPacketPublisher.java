@@ -0,0 +1,100 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link PacketPublisher} pipelining publish commands on a connection with auto-flush disabled.
+ *
+ * <p>Issued commands are buffered by Lettuce and written to the socket in a single flush, either
+ * when the number of pending commands reaches {@link PublishBatching#maxBatchSize()} or when the
+ * {@link PublishBatching#linger()} of the first pending command elapses, whichever comes first.
+ * Each publish still completes its own future once Redis acknowledges the command, and synchronous
+ * publishing waits for it, so it may wait up to the linger. Publishing once closed is rejected.
+ *
+ * <p>The connection passed to this publisher must not be used for synchronous commands, as they
+ * would never be flushed.
+ */
+final class BatchingPacketPublisher implements PacketPublisher {
+
+  private final StatefulRedisConnection<String, byte[]> connection;
+  private final PublishBatching batching;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicInteger pendingCommands;
+  private volatile boolean closed;
+
+  BatchingPacketPublisher(
+      final StatefulRedisConnection<String, byte[]> connection, final PublishBatching batching) {
+    this.connection = connection;
+    this.batching = batching;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "aegis-publish-batcher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.pendingCommands = new AtomicInteger();
+    this.connection.setAutoFlushCommands(false);
+  }
+
+  @Override
+  public void publish(final String channel, final byte[] payload) {
+    try {
+      publishAsync(channel, payload).join();
+    } catch (final CompletionException exception) {
+      throw exception.getCause() instanceof PacketBrokerException cause
+          ? cause
+          : new PacketBrokerException(
+              "Could not publish packet on channel named %s due to unexpected exception."
+                  .formatted(channel),
+              exception.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<Long> publishAsync(final String channel, final byte[] payload) {
+    if (closed) {
+      return failedFuture(
+          new PacketBrokerException(
+              "Could not publish packet on channel named %s, because of closed publisher."
+                  .formatted(channel)));
+    }
+
+    final CompletableFuture<Long> future =
+        connection.async().publish(channel, payload).toCompletableFuture();
+    final int pending = pendingCommands.incrementAndGet();
+    if (pending >= batching.maxBatchSize()) {
+      flush();
+    } else if (pending == 1) {
+      try {
+        scheduler.schedule(this::flush, batching.linger().toNanos(), NANOSECONDS);
+      } catch (final RejectedExecutionException exception) {
+        flush();
+      }
+    }
+    return future;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    scheduler.shutdown();
+    flush();
+    connection.close();
+  }
+
+  private void flush() {
+    if (pendingCommands.getAndSet(0) > 0) {
+      connection.flushCommands();
+    }
+  }
+}
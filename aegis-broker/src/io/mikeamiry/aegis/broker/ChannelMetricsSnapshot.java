@@ -0,0 +1,13 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Holds the measurements recorded for a single channel by the {@link RecordingPacketBrokerMetrics}
+ * at the time the snapshot was taken, with the round trip times of the requests issued on it.
+ */
+public record ChannelMetricsSnapshot(
+    long publishedPackets,
+    long publishedBytes,
+    long receivedPackets,
+    long receivedBytes,
+    long timedOutRequests,
+    HistogramSnapshot requestRoundTrip) {}
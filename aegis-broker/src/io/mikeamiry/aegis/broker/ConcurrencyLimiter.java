@@ -0,0 +1,78 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Limits the number of requests in flight on a single channel of the {@link PacketBroker}, adapting
+ * the limit to the latency of the responses, as described by {@link RequestConcurrency}.
+ *
+ * <p>A request acquires a slot before being published and releases it once completed, reporting its
+ * round trip time, or without reporting it when the request completed before being published.
+ * Requests unable to acquire a slot are queued up to {@link RequestConcurrency#maxQueued()} and
+ * published in order as slots are released, or rejected otherwise. Queued requests are published
+ * outside of the lock of the limiter.
+ */
+final class ConcurrencyLimiter {
+
+  private final RequestConcurrency concurrency;
+  private final long latencyThresholdNanos;
+  private final Queue<Runnable> queuedRequests;
+  private double limit;
+  private int inFlight;
+
+  ConcurrencyLimiter(final RequestConcurrency concurrency) {
+    this.concurrency = concurrency;
+    this.latencyThresholdNanos = concurrency.latencyThreshold().toNanos();
+    this.queuedRequests = new ArrayDeque<>();
+    this.limit = concurrency.initialLimit();
+  }
+
+  boolean acquire(final Runnable dispatch) {
+    synchronized (this) {
+      if (inFlight >= (int) limit) {
+        if (queuedRequests.size() >= concurrency.maxQueued()) {
+          return false;
+        }
+        queuedRequests.add(dispatch);
+        return true;
+      }
+      inFlight++;
+    }
+    dispatch.run();
+    return true;
+  }
+
+  void release(final long roundTripNanos, final boolean failed) {
+    synchronized (this) {
+      if (failed || roundTripNanos > latencyThresholdNanos) {
+        limit = Math.max(concurrency.minLimit(), limit * concurrency.backoffRatio());
+      } else {
+        limit = Math.min(concurrency.maxLimit(), limit + 1 / limit);
+      }
+    }
+    release();
+  }
+
+  void release() {
+    final List<Runnable> dispatches = new ArrayList<>();
+    synchronized (this) {
+      inFlight--;
+      while (inFlight < (int) limit && !queuedRequests.isEmpty()) {
+        inFlight++;
+        dispatches.add(queuedRequests.poll());
+      }
+    }
+    dispatches.forEach(Runnable::run);
+  }
+
+  synchronized int limit() {
+    return (int) limit;
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+}
@@ -0,0 +1,15 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Marks a {@link Packet} whose newest instance supersedes every previous instance sharing its
+ * conflation key, as with snapshots of the state of an entity.
+ *
+ * <p>The conflation key is written in the header of the packet, so brokers configured with a
+ * conflation window publish only the newest packet per channel and key within the window, and
+ * inbound queues using {@link InboundOverflowPolicy#CONFLATE} keep only the newest queued packet
+ * per key, without decoding any of them.
+ */
+public interface Conflatable {
+
+  String conflationKey();
+}
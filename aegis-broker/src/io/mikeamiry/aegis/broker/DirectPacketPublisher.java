@@ -0,0 +1,33 @@
+package io.mikeamiry.aegis.broker;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link PacketPublisher} writing every publish command to the connection as soon as it is
+ * issued. Synchronous publishing waits for the round trip, while asynchronous publishing returns
+ * immediately with a future completed by the number of receiving clients.
+ */
+final class DirectPacketPublisher implements PacketPublisher {
+
+  private final StatefulRedisConnection<String, byte[]> connection;
+
+  DirectPacketPublisher(final StatefulRedisConnection<String, byte[]> connection) {
+    this.connection = connection;
+  }
+
+  @Override
+  public void publish(final String channel, final byte[] payload) {
+    connection.sync().publish(channel, payload);
+  }
+
+  @Override
+  public CompletableFuture<Long> publishAsync(final String channel, final byte[] payload) {
+    return connection.async().publish(channel, payload).toCompletableFuture();
+  }
+
+  @Override
+  public void close() {
+    connection.close();
+  }
+}
@@ -0,0 +1,11 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Holds the distribution of the values recorded by a histogram of the {@link PacketBrokerMetrics}
+ * at the time the snapshot was taken.
+ *
+ * <p>Percentiles are reported as the upper bound of the logarithmic bucket holding them, so they
+ * overestimate the exact value by at most an eighth of its magnitude.
+ */
+public record HistogramSnapshot(
+    long count, double mean, long max, long p50, long p90, long p99, long p999) {}
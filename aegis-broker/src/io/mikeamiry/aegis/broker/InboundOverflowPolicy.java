@@ -0,0 +1,25 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Decides what happens to an inbound packet received by the {@link PacketBroker} when the queue of
+ * its subscribed channel or pattern already holds {@link InboundPipelining#queueCapacity()} packets
+ * awaiting dispatch, or when the buffer of a streaming subscriber already holds as many packets as
+ * it was sized for.
+ *
+ * <p>- {@link #DROP_OLDEST}: the oldest queued packet of the subscription is dropped to make room.
+ * - {@link #DROP_NEWEST}: the received packet is dropped. - {@link #BLOCK}: the receiving thread
+ * waits for a free slot, pushing back on the connection the packet was received from. - {@link
+ * #CONFLATE}: every queued packet of the subscription is dropped in favour of the received one,
+ * which suits channels where each packet supersedes the previous ones; {@link Conflatable} packets
+ * additionally replace the queued packet sharing their conflation key.
+ *
+ * <p>A streaming subscriber of a pub/sub channel may only {@link #BLOCK} with {@link
+ * InboundPipelining} configured, blocking a dispatching thread of the pipeline, as it would
+ * otherwise block the connection thread, and with it every subscription of the connection.
+ */
+public enum InboundOverflowPolicy {
+  DROP_OLDEST,
+  DROP_NEWEST,
+  BLOCK,
+  CONFLATE
+}
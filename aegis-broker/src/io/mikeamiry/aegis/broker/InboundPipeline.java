@@ -0,0 +1,210 @@
+package io.mikeamiry.aegis.broker;
+
+import static io.mikeamiry.aegis.broker.PacketFrame.isFramed;
+import static java.util.logging.Level.WARNING;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Hands packets received by the {@link PacketBroker} over to a pool of dispatching threads, so the
+ * connection thread receiving them only queues their raw bytes.
+ *
+ * <p>Every subscription owns a bounded queue, drained by at most one pooled thread at a time, which
+ * keeps packets of a subscription dispatched in the order they were received while packets of
+ * distinct subscriptions are decoded in parallel. A slow packet therefore only delays the packets
+ * of its own subscription. A pattern subscription shares a single queue between every channel it
+ * matches, so the number of queues is bounded by the number of subscriptions, however many channels
+ * their patterns match. Once a queue is full, the {@link InboundOverflowPolicy} of the {@link
+ * InboundPipelining} decides which packet gives way.
+ *
+ * <p>With {@link InboundOverflowPolicy#CONFLATE}, a received packet carrying the conflation key of
+ * a {@link Conflatable} packet replaces the queued packet of its channel with the same key, read
+ * from the header alone, so only the newest packet per channel and key is ever decoded.
+ */
+final class InboundPipeline {
+
+  private static final Logger log = Logger.getLogger(InboundPipeline.class.getName());
+
+  private final InboundPipelining pipelining;
+  private final ExecutorService executor;
+  private final Map<String, SubscriptionQueue> queuesBySubscription;
+
+  InboundPipeline(final InboundPipelining pipelining) {
+    this.pipelining = pipelining;
+    this.executor =
+        Executors.newFixedThreadPool(
+            pipelining.threads(),
+            runnable -> {
+              final Thread thread = new Thread(runnable, "aegis-inbound-dispatcher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.queuesBySubscription = new ConcurrentHashMap<>();
+  }
+
+  Consumer<byte[]> wrap(final String channel, final Consumer<byte[]> consumer) {
+    final SubscriptionQueue queue = queueOf(channel);
+    return message -> queue.offer(channel, message, consumer);
+  }
+
+  PatternConsumer wrap(final String pattern, final PatternConsumer consumer) {
+    final SubscriptionQueue queue = queueOf(pattern);
+    return (channel, patterns, message) ->
+        queue.offer(channel, message, conflated -> consumer.accept(channel, patterns, conflated));
+  }
+
+  void release(final String subscription) {
+    queuesBySubscription.remove(subscription);
+  }
+
+  Map<String, Integer> queueDepths() {
+    final Map<String, Integer> queueDepths = new ConcurrentHashMap<>();
+    queuesBySubscription.forEach(
+        (subscription, queue) -> queueDepths.put(subscription, queue.tasks.size()));
+    return queueDepths;
+  }
+
+  void close() {
+    executor.shutdown();
+  }
+
+  private SubscriptionQueue queueOf(final String subscription) {
+    return queuesBySubscription.computeIfAbsent(subscription, SubscriptionQueue::new);
+  }
+
+  private final class SubscriptionQueue implements Runnable {
+
+    private final String subscription;
+    private final BlockingQueue<Runnable> tasks;
+    private final Map<ConflationKey, ConflatedMessage> conflatedByKey;
+    private final AtomicBoolean scheduled;
+
+    private SubscriptionQueue(final String subscription) {
+      this.subscription = subscription;
+      this.tasks = new ArrayBlockingQueue<>(pipelining.queueCapacity());
+      this.conflatedByKey = new ConcurrentHashMap<>();
+      this.scheduled = new AtomicBoolean();
+    }
+
+    private void offer(
+        final String channel, final byte[] message, final Consumer<byte[]> consumer) {
+      final String conflationKey =
+          pipelining.overflowPolicy() == InboundOverflowPolicy.CONFLATE && isFramed(message)
+              ? PacketFrame.read(message).conflationKey()
+              : null;
+      if (conflationKey == null) {
+        offer(() -> consumer.accept(message));
+        return;
+      }
+
+      final ConflatedMessage[] created = new ConflatedMessage[1];
+      conflatedByKey.compute(
+          new ConflationKey(channel, conflationKey),
+          (key, existing) -> {
+            if (existing != null) {
+              existing.message = message;
+              return existing;
+            }
+            created[0] = new ConflatedMessage(this, key, message, consumer);
+            return created[0];
+          });
+      if (created[0] != null) {
+        offer(created[0]);
+      }
+    }
+
+    private void offer(final Runnable task) {
+      switch (pipelining.overflowPolicy()) {
+        case DROP_OLDEST -> {
+          while (!tasks.offer(task)) {
+            tasks.poll();
+          }
+        }
+        case DROP_NEWEST -> tasks.offer(task);
+        case CONFLATE -> {
+          while (!tasks.offer(task)) {
+            tasks.clear();
+            conflatedByKey.clear();
+          }
+        }
+        case BLOCK -> {
+          try {
+            tasks.put(task);
+          } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        try {
+          executor.execute(this);
+        } catch (final RejectedExecutionException exception) {
+          scheduled.set(false);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+          try {
+            task.run();
+          } catch (final Exception exception) {
+            log.log(
+                WARNING,
+                "Could not dispatch inbound packet on %s.".formatted(subscription),
+                exception);
+          }
+        }
+      } finally {
+        scheduled.set(false);
+        if (!tasks.isEmpty()) {
+          schedule();
+        }
+      }
+    }
+  }
+
+  private record ConflationKey(String channel, String key) {}
+
+  private static final class ConflatedMessage implements Runnable {
+
+    private final SubscriptionQueue queue;
+    private final ConflationKey key;
+    private final Consumer<byte[]> consumer;
+    private volatile byte[] message;
+
+    private ConflatedMessage(
+        final SubscriptionQueue queue,
+        final ConflationKey key,
+        final byte[] message,
+        final Consumer<byte[]> consumer) {
+      this.queue = queue;
+      this.key = key;
+      this.message = message;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void run() {
+      queue.conflatedByKey.remove(key, this);
+      consumer.accept(message);
+    }
+  }
+}
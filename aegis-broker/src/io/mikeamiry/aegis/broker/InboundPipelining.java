@@ -0,0 +1,27 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Describes the inbound pipeline of the {@link PacketBroker}, which moves decoding and dispatching
+ * of received packets off the connection threads.
+ *
+ * <p>Received packets are queued per subscribed channel or pattern, up to {@code queueCapacity}
+ * packets each, and are decoded and dispatched by a pool of {@code threads} threads, in the order
+ * they were received on their subscription. Once the queue of a subscription is full, the {@code
+ * overflowPolicy} applies.
+ */
+public record InboundPipelining(
+    int threads, int queueCapacity, InboundOverflowPolicy overflowPolicy) {
+
+  public InboundPipelining {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads must be greater than zero.");
+    }
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be greater than zero.");
+    }
+  }
+
+  public static InboundPipelining create(final int threads) {
+    return new InboundPipelining(threads, 1024, InboundOverflowPolicy.DROP_OLDEST);
+  }
+}
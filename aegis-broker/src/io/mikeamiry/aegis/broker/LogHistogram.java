@@ -0,0 +1,95 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, bucketed logarithmically in the manner of HDR
+ * histograms.
+ *
+ * <p>Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so a recorded value
+ * is known within 1/{@value #SUB_BUCKETS} of its magnitude, across the whole range of a {@code
+ * long}, with a fixed footprint of {@value #BUCKETS} counters. Recording a value only increments
+ * atomic counters, without allocating nor locking.
+ */
+final class LogHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+  private final AtomicLongArray counts;
+  private final LongAdder count;
+  private final LongAdder sum;
+  private final AtomicLong max;
+
+  LogHistogram() {
+    this.counts = new AtomicLongArray(BUCKETS);
+    this.count = new LongAdder();
+    this.sum = new LongAdder();
+    this.max = new AtomicLong();
+  }
+
+  void record(final long value) {
+    final long recorded = Math.max(0, value);
+    counts.incrementAndGet(indexOf(recorded));
+    count.increment();
+    sum.add(recorded);
+    max.accumulateAndGet(recorded, Math::max);
+  }
+
+  HistogramSnapshot snapshot() {
+    final long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int index = 0; index < BUCKETS; index++) {
+      snapshot[index] = counts.get(index);
+      total += snapshot[index];
+    }
+
+    return new HistogramSnapshot(
+        total,
+        total == 0 ? 0 : (double) sum.sum() / count.sum(),
+        max.get(),
+        percentile(snapshot, total, 0.50),
+        percentile(snapshot, total, 0.90),
+        percentile(snapshot, total, 0.99),
+        percentile(snapshot, total, 0.999));
+  }
+
+  private static int indexOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long upperBoundOf(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    final int subBucket = index % SUB_BUCKETS;
+    final int shift = magnitude - SUB_BUCKET_BITS;
+    final long lowerBound = ((long) (SUB_BUCKETS + subBucket)) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+  private static long percentile(final long[] counts, final long total, final double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+
+    final long rank = (long) Math.ceil(percentile * total);
+    long seen = 0;
+    for (int index = 0; index < counts.length; index++) {
+      seen += counts[index];
+      if (seen >= rank) {
+        return upperBoundOf(index);
+      }
+    }
+    return upperBoundOf(counts.length - 1);
+  }
+}
@@ -0,0 +1,9 @@
+package io.mikeamiry.aegis.broker;
+
+/** The {@link PacketBrokerMetrics} discarding every measurement, used by default. */
+final class NoopPacketBrokerMetrics implements PacketBrokerMetrics {
+
+  static final PacketBrokerMetrics INSTANCE = new NoopPacketBrokerMetrics();
+
+  private NoopPacketBrokerMetrics() {}
+}
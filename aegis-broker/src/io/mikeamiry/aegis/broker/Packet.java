@@ -10,9 +10,22 @@ import java.io.Serializable;
  * Serializable}, allowing instances of this class or its subclasses to be serialized for transport
  * or storage.
  *
- * <p>A {@code Packet} contains two key properties: - {@code source}: Identifies the origin or the
- * sender of the packet. - {@code target}: Identifies the intended recipient or target of the
- * packet.
+ * <p>A {@code Packet} contains the following key properties: - {@code source}: Identifies the
+ * origin or the sender of the packet. - {@code target}: Identifies the intended recipient or target
+ * of the packet. - {@code replyChannel}: Identifies the channel on which responses to this packet
+ * are expected, when it is issued as a request by a broker using per-node reply channels. - {@code
+ * deadline}: The epoch millisecond after which the requester no longer awaits a response, when it
+ * is issued as a request, or zero otherwise. - {@code requestId}: Identifies the request this
+ * packet is issued as. The broker assigns a fresh id every time the packet is requested, unless the
+ * caller set one through {@link #requestId(String)}, in which case it is kept, so requesting the
+ * packet again retries the same request. Whether the id was set by the caller is not serialized.
+ *
+ * <p>The {@code replyChannel}, {@code deadline} and {@code requestId} fields were added to the
+ * serialized form of every packet. Codecs writing the field layout of the class, as the Fury codec
+ * does in its default schema consistent mode, cannot read packets written by nodes running a
+ * version without them, nor the other way around. Clusters mixing versions must therefore either
+ * use the Jackson codec, which ignores unknown and missing properties, or upgrade every node
+ * together.
  *
  * <p>Key features include: - Ability to set and retrieve the source and target of the packet. - A
  * utility method {@code pointAt} to set the target of the current packet to the source of another
@@ -25,6 +38,10 @@ public abstract class Packet implements Event, Serializable {
 
   private String source;
   private String target;
+  private String replyChannel;
+  private long deadline;
+  private String requestId;
+  private transient boolean explicitRequestId;
 
   protected Packet() {}
 
@@ -40,6 +57,40 @@ public abstract class Packet implements Event, Serializable {
     return target;
   }
 
+  public String replyChannel() {
+    return replyChannel;
+  }
+
+  void replyChannel(final String replyChannel) {
+    this.replyChannel = replyChannel;
+  }
+
+  public long deadline() {
+    return deadline;
+  }
+
+  void deadline(final long deadline) {
+    this.deadline = deadline;
+  }
+
+  public String requestId() {
+    return requestId;
+  }
+
+  public void requestId(final String requestId) {
+    this.requestId = requestId;
+    this.explicitRequestId = requestId != null;
+  }
+
+  boolean hasExplicitRequestId() {
+    return explicitRequestId;
+  }
+
+  void assignRequestId(final String requestId) {
+    this.requestId = requestId;
+    this.explicitRequestId = false;
+  }
+
   public <T extends Packet> T pointAt(final Packet request) {
     this.target = request.source;
     //noinspection unchecked
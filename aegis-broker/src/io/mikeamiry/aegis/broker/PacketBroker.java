@@ -1,7 +1,12 @@
 package io.mikeamiry.aegis.broker;
 
 import io.mikeamiry.aegis.eventbus.Observer;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 /**
  * The PacketBroker interface serves as an abstraction for a packet-based communication broker,
@@ -12,14 +17,67 @@ import java.util.concurrent.CompletableFuture;
  * implementation is provided by the PacketBrokerImpl class.
  *
  * <p>Key responsibilities include: - Observing subscribers for specific communication or event
- * channels. - Publishing packets to designated channels for delivery to subscribers. - Facilitating
- * request-response communication with packets.
+ * channels. - Streaming the packets of a channel to subscribers signalling their demand. -
+ * Publishing packets to designated channels for delivery to subscribers. - Facilitating
+ * request-response communication with packets, including scatter-gather requests answered by
+ * several nodes. - Exposing the concurrency limit and the requests in flight of a channel, the
+ * latter being only tracked with {@link RequestConcurrency} configured. - Dropping requests
+ * received after their deadline, and counting them. - Exposing the depths of its inbound queues,
+ * per subscribed channel or pattern. - Releasing its connections once closed.
  */
-public sealed interface PacketBroker permits PacketBrokerImpl {
+public sealed interface PacketBroker extends Closeable permits PacketBrokerImpl {
 
   void observe(final Observer observer) throws PacketBrokerException;
 
+  <T extends Packet> Flow.Publisher<T> subscribe(final String channel, final Class<T> type)
+      throws PacketBrokerException;
+
+  <T extends Packet> Flow.Publisher<T> subscribe(
+      final String channel,
+      final Class<T> type,
+      final int bufferSize,
+      final InboundOverflowPolicy overflowPolicy)
+      throws PacketBrokerException;
+
+  /**
+   * Publishes the packet on the channel, throwing once the publish failed.
+   *
+   * <p>A {@link Conflatable} packet published by a broker configured with a conflation window is
+   * only submitted for conflation instead, so this method returns before the packet is published,
+   * and a failure of the later publish is logged rather than thrown. Use {@link #publishAsync} to
+   * observe its outcome.
+   */
   void publish(final String channel, final Packet packet) throws PacketBrokerException;
 
+  CompletableFuture<Long> publishAsync(final String channel, final Packet packet);
+
   <T extends Packet> CompletableFuture<T> request(final String channel, final Packet request);
+
+  <T extends Packet> CompletableFuture<T> request(
+      final String channel, final Packet request, final Duration timeout)
+      throws PacketBrokerException;
+
+  /**
+   * Publishes the request and completes with the responses of the first {@code expectedCount} nodes
+   * answering it, or with the responses received so far once the deadline elapsed.
+   *
+   * <p>Responses arriving once the returned future completed are dropped. With {@link
+   * PacketBrokerOptions#framedPackets()} enabled they are dropped from their frame header alone,
+   * while unframed responses, the default, are decoded first, as their target is only known from
+   * their body.
+   */
+  <T extends Packet> CompletableFuture<List<T>> requestAll(
+      final String channel, final Packet request, final int expectedCount, final Duration deadline)
+      throws PacketBrokerException;
+
+  int requestLimit(final String channel);
+
+  int requestsInFlight(final String channel);
+
+  long expiredRequests();
+
+  Map<String, Integer> inboundQueueDepths();
+
+  @Override
+  void close() throws PacketBrokerException;
 }
@@ -15,7 +15,9 @@ import io.mikeamiry.aegis.eventbus.EventBus;
  * <p>Responsibilities of this factory include: - Abstracting the instantiation of a {@code
  * PacketBroker} implementation. - Ensuring that necessary dependencies like {@code Codec}, {@code
  * EventBus}, and {@code RedisClient} are correctly injected into the broker. - Returning a fully
- * initialized instance of {@code PacketBroker} for usage.
+ * initialized instance of {@code PacketBroker} for usage. - Selecting the transport of the broker,
+ * Redis pub/sub by default, or Redis Streams when {@link PacketStreams} are configured through
+ * {@link PacketBrokerOptions}.
  *
  * <p>This class is final to ensure immutability and prevent extension. It uses a private
  * constructor to enforce static factory methods as the only entry point.
@@ -29,6 +31,15 @@ public final class PacketBrokerFactory {
       final Codec codec,
       final EventBus eventBus,
       final RedisClient redisClient) {
-    return new PacketBrokerImpl(identity, codec, eventBus, redisClient);
+    return create(identity, codec, eventBus, redisClient, PacketBrokerOptions.defaults());
+  }
+
+  public static PacketBroker create(
+      final String identity,
+      final Codec codec,
+      final EventBus eventBus,
+      final RedisClient redisClient,
+      final PacketBrokerOptions options) {
+    return new PacketBrokerImpl(identity, codec, eventBus, redisClient, options);
   }
 }
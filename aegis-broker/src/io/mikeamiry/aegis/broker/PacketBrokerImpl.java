@@ -1,21 +1,35 @@
 package io.mikeamiry.aegis.broker;
 
+import static io.mikeamiry.aegis.broker.PacketFrame.isFramed;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.UUID.randomUUID;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.logging.Level.WARNING;
 
 import io.lettuce.core.RedisClient;
-import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.codec.RedisCodec;
-import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import io.makeamiry.aegis.codec.Codec;
 import io.mikeamiry.aegis.eventbus.EventBus;
 import io.mikeamiry.aegis.eventbus.Observer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The PacketBroker class facilitates packet-based communication using a combination of an event bus
@@ -23,52 +37,131 @@ import java.util.function.Consumer;
  * publishing, and subscribing mechanisms.
  *
  * <p>This class is final and cannot be subclassed. Communication involves sending and receiving
- * packets over defined channels, leveraging Redis pub/sub capabilities and an event bus.
+ * packets over defined channels, leveraging an event bus and a {@link PacketTransport}, built on
+ * either Redis pub/sub or Redis Streams.
  *
  * <p>Responsibilities of this class include: - Encoding and decoding packets using a provided
- * Codec. - Subscribing to events and packets via the EventBus and Redis subscriptions. - Publishing
- * packets to Redis channels. - Managing callbacks for packet responses via CompletableFutures. -
- * Delegating packets to an EventBus or handling them internally.
+ * Codec, optionally behind a {@link PacketFrame} header. - Subscribing to events and packets via
+ * the EventBus and Redis subscriptions. - Publishing packets to Redis channels. - Managing
+ * callbacks for packet responses via CompletableFutures. - Delegating packets to an EventBus or
+ * handling them internally.
  *
- * <p>Features: - The broker ensures every request packet has a unique source identifier. - It
- * supports asynchronous requests, returning a CompletableFuture to handle responses. - Observers
- * can subscribe to specific topics for receiving packets. - Gracefully handles any exceptions that
- * arise from publishing, subscribing, or delegation.
+ * <p>Features: - The broker ensures every request packet carries a request id, which also serves as
+ * its source. - It supports asynchronous requests, returning a CompletableFuture to handle
+ * responses, as well as scatter-gather requests answered by several nodes. - Observers can
+ * subscribe to specific topics, or to glob patterns of topics, for receiving packets. - Gracefully
+ * handles any exceptions that arise from publishing, subscribing, or delegation.
  *
- * <p>Internal mechanisms include topics and callbacks management: - Topics are tracked using a
- * thread-safe set to ensure unique subscriptions. - Callbacks map response packets to their
- * corresponding CompletableFuture for asynchronous processing.
+ * <p>Internal mechanisms include topics and callbacks management: - Topics are tracked by a single
+ * {@link PacketDelegate}, which routes inbound messages by channel name and ensures unique
+ * subscriptions. - Callbacks map response packets to their corresponding CompletableFuture, held in
+ * {@link PacketCallbacks}. - Whether a framed packet type is observed on a topic is cached, in a
+ * table replaced once the {@link EventBus#observationVersion()} moves on.
+ *
+ * <p>Optional behaviours are configured through {@link PacketBrokerOptions}, each being described
+ * by the record configuring it.
  *
  * <p>Typical operations supported by this class: - Publishing a packet to a specific channel. -
  * Observing event or packet channels. - Sending an asynchronous request and waiting for a response.
  *
  * <p>This class uses the following dependencies: - Codec for encoding and decoding packets to/from
  * byte arrays. - EventBus for inter-component communication. - Lettuce Redis connections for
- * pub/sub communication.
+ * pub/sub or streams communication.
  */
 final class PacketBrokerImpl implements PacketBroker {
 
+  private static final Logger log = Logger.getLogger(PacketBrokerImpl.class.getName());
+  private static final String CALLBACKS_CHANNEL = "callbacks";
+
   private final Codec codec;
   private final String identity;
+  private final byte[] identityBytes;
   private final EventBus eventBus;
-  private final StatefulRedisConnection<String, byte[]> connection;
-  private final StatefulRedisPubSubConnection<String, byte[]> pubSubConnection;
-  private final Map<String, CompletableFuture<?>> callbacks;
+  private final PacketTransport transport;
+  private final @Nullable PatternPacketTransport patternTransport;
+  private final @Nullable PacketTransport workTransport;
+  private final Set<String> workChannels;
+  private final PacketCallbacks callbacks;
+  private final RequestLimits requestLimits;
+  private final ReplyRouting replyRouting;
+  private final String replyChannel;
+  private final boolean framedPackets;
+  private final boolean loopback;
+  private final @Nullable InboundPipeline inboundPipeline;
+  private final @Nullable PublishLanes publishLanes;
+  private final @Nullable PacketConflator conflator;
+  private final LongAdder expiredRequests;
+  private final @Nullable RequestConcurrency requestConcurrency;
+  private final Map<String, ConcurrencyLimiter> limitersByChannel;
+  private final Map<String, List<PacketStreamPublisher<?>>> streamsByChannel;
+  private final Executor streamExecutor;
+  private final @Nullable RequestHedger hedger;
+  private final PacketBrokerMetrics metrics;
+  private final @Nullable ResponseCache responseCache;
+  private final Timer timer;
   private final Set<String> observedTopics;
+  private volatile ObservedTypes observedTypes;
 
   PacketBrokerImpl(
       final String identity,
       final Codec codec,
       final EventBus eventBus,
-      final RedisClient redisClient) {
+      final RedisClient redisClient,
+      final PacketBrokerOptions options) {
     this.identity = identity;
+    this.identityBytes = identity.getBytes(UTF_8);
     this.eventBus = eventBus;
     this.codec = codec;
     this.eventBus.register(Packet.class, this::delegateToPacketBroker);
     final RedisCodec<String, byte[]> stringByteCodec = new StringByteCodec();
-    this.connection = redisClient.connect(stringByteCodec);
-    this.pubSubConnection = redisClient.connectPubSub(stringByteCodec);
-    this.callbacks = new ConcurrentHashMap<>();
+    this.transport =
+        options.streams() == null
+            ? new PubSubPacketTransport(
+                redisClient,
+                stringByteCodec,
+                options.publishBatching(),
+                options.publishLanes(),
+                options.subscriptionConnections())
+            : new StreamPacketTransport(identity, redisClient, stringByteCodec, options.streams());
+    this.patternTransport = transport instanceof PatternPacketTransport pattern ? pattern : null;
+    final WorkChannels workChannels = transport.broadcasts() ? options.workChannels() : null;
+    this.workTransport =
+        workChannels == null
+            ? null
+            : new StreamPacketTransport(
+                identity, redisClient, stringByteCodec, workChannels.streams());
+    this.workChannels = workChannels == null ? Set.of() : workChannels.channels();
+    this.requestLimits = options.requestLimits();
+    this.timer = redisClient.getResources().timer();
+    this.callbacks = new PacketCallbacks(requestLimits, timer);
+    this.metrics = options.metrics();
+    this.metrics.outstandingRequests(callbacks::size);
+    this.responseCache =
+        options.responseCaching() == null ? null : new ResponseCache(options.responseCaching());
+    this.replyRouting = transport.broadcasts() ? options.replyRouting() : ReplyRouting.DIRECT;
+    this.replyChannel = CALLBACKS_CHANNEL + ":" + identity;
+    this.observedTypes =
+        new ObservedTypes(eventBus.observationVersion(), new ConcurrentHashMap<>());
+    this.framedPackets = options.framedPackets();
+    this.loopback = options.loopback() && transport.broadcasts();
+    this.publishLanes = options.publishLanes();
+    this.expiredRequests = new LongAdder();
+    this.requestConcurrency = options.requestConcurrency();
+    this.limitersByChannel = new ConcurrentHashMap<>();
+    this.streamsByChannel = new ConcurrentHashMap<>();
+    this.streamExecutor = options.streamExecutor();
+    this.hedger =
+        options.requestHedging() == null ? null : new RequestHedger(options.requestHedging());
+    this.conflator =
+        options.conflationWindow() == null
+            ? null
+            : new PacketConflator(
+                options.conflationWindow(),
+                (channel, packet) -> publishAsync(channel, packet, laneOf(channel, packet)));
+    this.inboundPipeline =
+        options.inboundPipelining() == null
+            ? null
+            : new InboundPipeline(options.inboundPipelining());
     this.observedTopics = ConcurrentHashMap.newKeySet();
     observeCallbacks();
   }
@@ -80,36 +173,178 @@ final class PacketBrokerImpl implements PacketBroker {
           "Could not delegate packet to packet broker due to missing source.");
     }
 
-    publish("callbacks", response);
+    final String channel =
+        request.replyChannel() == null ? CALLBACKS_CHANNEL : request.replyChannel();
+    if (responseCache == null || request.requestId() == null) {
+      publish(channel, response, PublishLane.PRIORITY);
+      return;
+    }
+
+    try {
+      final byte[] payload = encodePacket(channel, response);
+      responseCache.put(request.requestId(), channel, payload);
+      transportFor(channel).publish(channel, payload, PublishLane.PRIORITY);
+    } catch (final Exception exception) {
+      throw new PacketBrokerException(
+          "Could not publish packet on channel named %s due to unexpected exception."
+              .formatted(channel),
+          exception);
+    }
   }
 
-  private boolean observeCallbacks() {
-    return observePacketBroker(
-        "callbacks",
-        message -> {
-          final Packet response = codec.decodeFromBytes(message);
-          if (response.target() == null) {
-            return;
-          }
+  private boolean replayResponse(final @Nullable String requestId) throws PacketBrokerException {
+    final ResponseCache.CachedResponse response =
+        responseCache == null || requestId == null ? null : responseCache.get(requestId);
+    if (response == null) {
+      return false;
+    }
 
-          //noinspection unchecked
-          Optional.of(callbacks.get(response.target()))
-              .map(future -> (CompletableFuture<Packet>) future)
-              .ifPresent(future -> future.complete(response));
-        });
+    try {
+      metrics.packetPublished(response.channel(), response.payload().length);
+      transportFor(response.channel())
+          .publish(response.channel(), response.payload(), PublishLane.PRIORITY);
+      return true;
+    } catch (final Exception exception) {
+      throw new PacketBrokerException(
+          "Could not publish cached response on channel named %s due to unexpected exception."
+              .formatted(response.channel()),
+          exception);
+    }
+  }
+
+  private void observeCallbacks() {
+    if (replyRouting != ReplyRouting.DIRECT) {
+      observePacketBroker(
+          CALLBACKS_CHANNEL, message -> completeCallback(CALLBACKS_CHANNEL, message));
+    }
+    if (replyRouting != ReplyRouting.SHARED) {
+      observePacketBroker(replyChannel, message -> completeCallback(replyChannel, message));
+    }
+  }
+
+  private void completeCallback(final String channel, final byte[] message) {
+    metrics.packetReceived(channel, message.length);
+    if (isFramed(message)) {
+      final PacketFrame frame = PacketFrame.read(message);
+      final String target = frame.target();
+      if (target != null && callbacks.isPending(target)) {
+        callbacks.complete(target, decode(frame));
+      }
+      return;
+    }
+
+    final Packet response = decode(message);
+    if (response.target() == null) {
+      return;
+    }
+
+    callbacks.complete(response.target(), response);
   }
 
   public void observe(final Observer observer) throws PacketBrokerException {
+    if (patternTransport == null && TopicMatcher.isPattern(observer.topic())) {
+      throw new PacketBrokerException(
+          "Could not observe channels matching %s, because streams can only be read by name."
+              .formatted(observer.topic()));
+    }
+
     observeEventBus(observer);
     observePacketBroker(observer);
   }
 
-  public void publish(final String channel, final Packet packet) throws PacketBrokerException {
+  public <T extends Packet> Flow.Publisher<T> subscribe(
+      final String channel, final Class<T> type) throws PacketBrokerException {
+    return subscribe(channel, type, Flow.defaultBufferSize(), InboundOverflowPolicy.DROP_OLDEST);
+  }
+
+  public <T extends Packet> Flow.Publisher<T> subscribe(
+      final String channel,
+      final Class<T> type,
+      final int bufferSize,
+      final InboundOverflowPolicy overflowPolicy)
+      throws PacketBrokerException {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("Buffer size must be greater than zero.");
+    }
+    if (TopicMatcher.isPattern(channel)) {
+      throw new PacketBrokerException(
+          "Could not subscribe to %s, because streams require an exact channel name."
+              .formatted(channel));
+    }
+    if (overflowPolicy == InboundOverflowPolicy.BLOCK
+        && inboundPipeline == null
+        && transportFor(channel).broadcasts()) {
+      throw new PacketBrokerException(
+          "Could not subscribe to %s, because blocking requires inbound pipelining."
+              .formatted(channel));
+    }
+
+    final PacketStreamPublisher<T> stream =
+        new PacketStreamPublisher<>(
+            type,
+            bufferSize,
+            overflowPolicy,
+            streamExecutor,
+            released -> releaseStream(channel, released));
+    attachStream(channel, stream);
+    return stream;
+  }
+
+  private synchronized void attachStream(
+      final String channel, final PacketStreamPublisher<?> stream) throws PacketBrokerException {
+    streamsByChannel.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(stream);
+    invalidateObservedTypes();
+    observeTopic(channel);
+  }
+
+  private synchronized void releaseStream(
+      final String channel, final PacketStreamPublisher<?> stream) {
+    final List<PacketStreamPublisher<?>> streams = streamsByChannel.get(channel);
+    if (streams == null || !streams.remove(stream) || !streams.isEmpty()) {
+      return;
+    }
+
+    streamsByChannel.remove(channel);
+    invalidateObservedTypes();
+    if (observedTopics.contains(channel)) {
+      return;
+    }
+
     try {
-      if (packet.source() == null) {
-        packet.source(identity);
+      transportFor(channel).unsubscribe(channel);
+      if (inboundPipeline != null) {
+        inboundPipeline.release(channel);
       }
-      connection.sync().publish(channel, codec.encodeToBytes(packet));
+    } catch (final Exception exception) {
+      log.log(
+          WARNING, "Could not unsubscribe from channel named %s.".formatted(channel), exception);
+    }
+  }
+
+  public void publish(final String channel, final Packet packet) throws PacketBrokerException {
+    if (conflator != null && packet instanceof Conflatable conflatable) {
+      conflator
+          .submit(channel, packet, conflatable.conflationKey())
+          .whenComplete(
+              (receivers, cause) -> {
+                if (cause != null) {
+                  log.log(
+                      WARNING,
+                      "Could not publish conflated packet on %s.".formatted(channel),
+                      cause);
+                }
+              });
+      return;
+    }
+
+    publish(channel, packet, laneOf(channel, packet));
+  }
+
+  private void publish(final String channel, final Packet packet, final PublishLane lane)
+      throws PacketBrokerException {
+    try {
+      transportFor(channel).publish(channel, encodePacket(channel, packet), lane);
+      deliverLocally(channel, packet);
     } catch (final Exception exception) {
       throw new PacketBrokerException(
           "Could not publish packet on channel named %s due to unexpected exception."
@@ -118,25 +353,448 @@ final class PacketBrokerImpl implements PacketBroker {
     }
   }
 
+  public CompletableFuture<Long> publishAsync(final String channel, final Packet packet) {
+    if (conflator != null && packet instanceof Conflatable conflatable) {
+      return conflator.submit(channel, packet, conflatable.conflationKey());
+    }
+    return publishAsync(channel, packet, laneOf(channel, packet));
+  }
+
+  private CompletableFuture<Long> publishAsync(
+      final String channel, final Packet packet, final PublishLane lane) {
+    try {
+      final CompletableFuture<Long> future =
+          transportFor(channel).publishAsync(channel, encodePacket(channel, packet), lane);
+      deliverLocally(channel, packet);
+      return future;
+    } catch (final Exception exception) {
+      return failedFuture(
+          new PacketBrokerException(
+              "Could not publish packet on channel named %s due to unexpected exception."
+                  .formatted(channel),
+              exception));
+    }
+  }
+
+  private void deliverLocally(final String channel, final Packet packet)
+      throws PacketBrokerException {
+    if (!loopback || !identity.equals(packet.source()) || !transportFor(channel).broadcasts()) {
+      return;
+    }
+
+    publishToStreams(packet, channel);
+    final String[] patterns = patternTransport.matchPatterns(channel);
+    if (!observedTopics.contains(channel)) {
+      if (patterns.length > 0) {
+        publishToEventBus(packet, patterns);
+      }
+      return;
+    }
+
+    final String[] topics = new String[patterns.length + 1];
+    topics[0] = channel;
+    System.arraycopy(patterns, 0, topics, 1, patterns.length);
+    publishToEventBus(packet, topics);
+  }
+
+  private byte[] encodePacket(final String channel, final Packet packet) {
+    if (packet.source() == null) {
+      packet.source(identity);
+    }
+    final long startNanos = System.nanoTime();
+    final byte[] body = codec.encodeToBytes(packet);
+    final byte[] payload = framedPackets ? PacketFrame.write(packet, body) : body;
+    metrics.packetEncoded(System.nanoTime() - startNanos);
+    metrics.packetPublished(channel, payload.length);
+    return payload;
+  }
+
+  private <T extends Packet> T decode(final PacketFrame frame) {
+    final long startNanos = System.nanoTime();
+    final T packet = frame.decode(codec);
+    metrics.packetDecoded(System.nanoTime() - startNanos);
+    return packet;
+  }
+
+  private <T extends Packet> T decode(final byte[] message) {
+    final long startNanos = System.nanoTime();
+    final T packet = codec.decodeFromBytes(message);
+    metrics.packetDecoded(System.nanoTime() - startNanos);
+    return packet;
+  }
+
   public <T extends Packet> CompletableFuture<T> request(
       final String channel, final Packet request) {
-    request.source(randomUUID().toString());
+    return request(channel, request, requestLimits.timeout());
+  }
 
-    final CompletableFuture<T> future = new CompletableFuture<>();
-    callbacks.put(request.source(), future);
+  public <T extends Packet> CompletableFuture<T> request(
+      final String channel, final Packet request, final Duration timeout)
+      throws PacketBrokerException {
+    prepareRequest(request, timeout);
 
-    publish(channel, request);
+    final CompletableFuture<T> future;
+    try {
+      future = callbacks.register(request.requestId(), timeout);
+    } catch (final PacketBrokerException exception) {
+      return rejectRequest(exception);
+    }
+
+    measureRequest(channel, future);
+    final Runnable hedge =
+        hedger != null && !transportFor(channel).broadcasts()
+            ? () -> hedgeRequest(channel, request, future)
+            : null;
+    if (!dispatchRequest(channel, request, future, true, hedge)) {
+      rejectDispatch(channel, request, future);
+    }
     return future;
   }
 
-  private void delegateToEventBus(final String topic, final byte[] message)
+  public <T extends Packet> CompletableFuture<List<T>> requestAll(
+      final String channel, final Packet request, final int expectedCount, final Duration deadline)
       throws PacketBrokerException {
-    final Packet packet = codec.decodeFromBytes(message);
-    if (Objects.equals(packet.source(), identity)) {
-      return;
+    if (expectedCount < 1) {
+      throw new IllegalArgumentException("Expected count must be greater than zero.");
+    }
+
+    prepareRequest(request, deadline);
+
+    final CompletableFuture<List<T>> future;
+    try {
+      future = callbacks.registerAll(request.requestId(), expectedCount, deadline);
+    } catch (final PacketBrokerException exception) {
+      return rejectRequest(exception);
+    }
+
+    if (!dispatchRequest(channel, request, future, false, null)) {
+      rejectDispatch(channel, request, future);
+    }
+    return future;
+  }
+
+  private void prepareRequest(final Packet request, final Duration timeout) {
+    if (!request.hasExplicitRequestId()) {
+      request.assignRequestId(randomUUID().toString());
+    }
+    request.source(request.requestId());
+    request.deadline(currentTimeMillis() + timeout.toMillis());
+    if (replyRouting != ReplyRouting.SHARED) {
+      request.replyChannel(replyChannel);
+    }
+  }
+
+  private <T> CompletableFuture<T> rejectRequest(final PacketBrokerException exception)
+      throws PacketBrokerException {
+    if (requestLimits.rejectionPolicy() == RequestRejectionPolicy.ABORT) {
+      throw exception;
+    }
+    return failedFuture(exception);
+  }
+
+  private boolean dispatchRequest(
+      final String channel,
+      final Packet request,
+      final CompletableFuture<?> future,
+      final boolean sampled,
+      final @Nullable Runnable onSent) {
+    final ConcurrencyLimiter limiter = limiterOf(channel);
+    if (limiter == null) {
+      sendRequest(channel, request, future);
+      if (onSent != null) {
+        onSent.run();
+      }
+      return true;
+    }
+
+    return limiter.acquire(
+        () -> {
+          if (future.isDone()) {
+            limiter.release();
+            return;
+          }
+
+          final long startNanos = System.nanoTime();
+          future.whenComplete(
+              (response, cause) -> {
+                if (sampled) {
+                  limiter.release(System.nanoTime() - startNanos, cause != null);
+                } else {
+                  limiter.release();
+                }
+              });
+          sendRequest(channel, request, future);
+          if (onSent != null) {
+            onSent.run();
+          }
+        });
+  }
+
+  private void rejectDispatch(
+      final String channel, final Packet request, final CompletableFuture<?> future) {
+    future.completeExceptionally(
+        new PacketBrokerException(
+            "Could not send request %s, because of %d requests in flight on channel named %s."
+                .formatted(request.requestId(), limiterOf(channel).inFlight(), channel)));
+  }
+
+  private void measureRequest(final String channel, final CompletableFuture<?> future) {
+    final long startNanos = System.nanoTime();
+    future.whenComplete(
+        (response, cause) -> {
+          if (cause == null) {
+            metrics.requestCompleted(channel, System.nanoTime() - startNanos);
+          } else if (cause instanceof TimeoutException) {
+            metrics.requestTimedOut(channel);
+          }
+        });
+  }
+
+  private void hedgeRequest(
+      final String channel, final Packet request, final CompletableFuture<?> future) {
+    hedger.earn();
+
+    final long startNanos = System.nanoTime();
+    final long delayNanos = hedger.delayNanos(channel);
+    final Timeout hedge =
+        delayNanos < 0
+            ? null
+            : timer.newTimeout(
+                ignored -> {
+                  if (!future.isDone() && hedger.trySpend()) {
+                    dispatchRequest(channel, request, future, false, null);
+                  }
+                },
+                delayNanos,
+                NANOSECONDS);
+    future.whenComplete(
+        (response, cause) -> {
+          if (hedge != null) {
+            hedge.cancel();
+          }
+          if (cause == null) {
+            hedger.record(channel, System.nanoTime() - startNanos);
+          }
+        });
+  }
+
+  private @Nullable ConcurrencyLimiter limiterOf(final String channel) {
+    return requestConcurrency == null
+        ? null
+        : limitersByChannel.computeIfAbsent(
+            channel, key -> new ConcurrencyLimiter(requestConcurrency));
+  }
+
+  private void sendRequest(
+      final String channel, final Packet request, final CompletableFuture<?> future) {
+    publishAsync(channel, request, PublishLane.PRIORITY)
+        .whenComplete(
+            (receivers, cause) -> {
+              if (cause != null) {
+                future.completeExceptionally(cause);
+              }
+            });
+  }
+
+  @Override
+  public void close() throws PacketBrokerException {
+    streamsByChannel.values().forEach(streams -> streams.forEach(PacketStreamPublisher::complete));
+    try {
+      if (conflator != null) {
+        conflator.close();
+      }
+      transport.close();
+      if (workTransport != null) {
+        workTransport.close();
+      }
+      if (inboundPipeline != null) {
+        inboundPipeline.close();
+      }
+    } catch (final Exception exception) {
+      throw new PacketBrokerException(
+          "Could not close packet broker due to unexpected exception.", exception);
+    }
+  }
+
+  @Override
+  public int requestLimit(final String channel) {
+    if (requestConcurrency == null) {
+      return requestLimits.maxOutstanding();
+    }
+    final ConcurrencyLimiter limiter = limitersByChannel.get(channel);
+    return limiter == null ? requestConcurrency.initialLimit() : limiter.limit();
+  }
+
+  @Override
+  public int requestsInFlight(final String channel) {
+    final ConcurrencyLimiter limiter = limitersByChannel.get(channel);
+    return limiter == null ? 0 : limiter.inFlight();
+  }
+
+  @Override
+  public long expiredRequests() {
+    return expiredRequests.sum();
+  }
+
+  @Override
+  public Map<String, Integer> inboundQueueDepths() {
+    return inboundPipeline == null ? Map.of() : inboundPipeline.queueDepths();
+  }
+
+  private PublishLane laneOf(final String channel, final Packet packet) {
+    return publishLanes != null
+            && (publishLanes.priorityChannels().contains(channel)
+                || publishLanes.priorityTypes().contains(packet.getClass()))
+        ? PublishLane.PRIORITY
+        : PublishLane.BULK;
+  }
+
+  private PacketTransport transportFor(final String channel) {
+    return workTransport != null && workChannels.contains(channel) ? workTransport : transport;
+  }
+
+  private void delegateToEventBus(
+      final String topic, final boolean dropEchoes, final byte[] message)
+      throws PacketBrokerException {
+    metrics.packetReceived(topic, message.length);
+    final Packet packet;
+    if (isFramed(message)) {
+      final Map<Long, Boolean> observedTypes = observedTypesOf(topic);
+      final PacketFrame frame = PacketFrame.read(message);
+      if (dropEchoes && frame.isSourcedBy(identityBytes)) {
+        return;
+      }
+
+      if (frame.isExpired(currentTimeMillis())) {
+        expiredRequests.increment();
+        return;
+      }
+
+      if (replayResponse(frame.requestId())) {
+        return;
+      }
+
+      final Boolean observed = observedTypes.get(frame.typeId());
+      if (observed == Boolean.FALSE) {
+        return;
+      }
+
+      packet = decode(frame);
+      if (observed == null) {
+        final boolean observable =
+            eventBus.isObserved(packet.getClass(), topic) || isStreamed(packet.getClass(), topic);
+        observedTypes.put(frame.typeId(), observable);
+        if (!observable) {
+          return;
+        }
+      }
+    } else {
+      packet = decode(message);
+      if (dropEchoes && Objects.equals(packet.source(), identity)) {
+        return;
+      }
+
+      if (isExpired(packet)) {
+        expiredRequests.increment();
+        return;
+      }
+
+      if (replayResponse(packet.requestId())) {
+        return;
+      }
+    }
+
+    publishToStreams(packet, topic);
+    publishToEventBus(packet, topic);
+  }
+
+  private Map<Long, Boolean> observedTypesOf(final String topic) {
+    final long observationVersion = eventBus.observationVersion();
+    ObservedTypes current = observedTypes;
+    if (current.observationVersion() != observationVersion) {
+      current = new ObservedTypes(observationVersion, new ConcurrentHashMap<>());
+      observedTypes = current;
+    }
+
+    final Map<Long, Boolean> topicObservedTypes = current.byTopic().get(topic);
+    return topicObservedTypes == null
+        ? current.byTopic().computeIfAbsent(topic, key -> new ConcurrentHashMap<>())
+        : topicObservedTypes;
+  }
+
+  private void invalidateObservedTypes() {
+    observedTypes = new ObservedTypes(eventBus.observationVersion(), new ConcurrentHashMap<>());
+  }
+
+  private boolean isStreamed(final Class<?> packetType, final String topic) {
+    final List<PacketStreamPublisher<?>> streams = streamsByChannel.get(topic);
+    if (streams == null) {
+      return false;
+    }
+
+    for (final PacketStreamPublisher<?> stream : streams) {
+      if (stream.accepts(packetType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void publishToStreams(final Packet packet, final String topic) {
+    final List<PacketStreamPublisher<?>> streams = streamsByChannel.get(topic);
+    if (streams != null) {
+      streams.forEach(stream -> stream.offer(packet));
+    }
+  }
+
+  private void delegatePatternToEventBus(
+      final String channel, final String[] patterns, final byte[] message)
+      throws PacketBrokerException {
+    metrics.packetReceived(channel, message.length);
+    final Packet packet;
+    if (isFramed(message)) {
+      final PacketFrame frame = PacketFrame.read(message);
+      if (frame.isSourcedBy(identityBytes)) {
+        return;
+      }
+
+      if (frame.isExpired(currentTimeMillis())) {
+        expiredRequests.increment();
+        return;
+      }
+
+      if (replayResponse(frame.requestId())) {
+        return;
+      }
+
+      packet = decode(frame);
+    } else {
+      packet = decode(message);
+      if (Objects.equals(packet.source(), identity)) {
+        return;
+      }
+
+      if (isExpired(packet)) {
+        expiredRequests.increment();
+        return;
+      }
+
+      if (replayResponse(packet.requestId())) {
+        return;
+      }
     }
+
+    publishToEventBus(packet, patterns);
+  }
+
+  private static boolean isExpired(final Packet packet) {
+    return packet.deadline() != 0 && packet.deadline() < currentTimeMillis();
+  }
+
+  private void publishToEventBus(final Packet packet, final String... topics)
+      throws PacketBrokerException {
     try {
-      eventBus.publish(packet, topic);
+      eventBus.publish(packet, topics);
     } catch (final Exception exception) {
       throw new PacketBrokerException(
           "Could not delegate packet to event bus due to unexpected exception.", exception);
@@ -156,18 +814,33 @@ final class PacketBrokerImpl implements PacketBroker {
 
   private boolean observePacketBroker(final Observer observer) throws PacketBrokerException {
     final String topic = observer.topic();
-    return observePacketBroker(topic, message -> delegateToEventBus(topic, message));
+    if (TopicMatcher.isPattern(topic)) {
+      return observePacketBrokerPattern(topic);
+    }
+
+    return observeChannel(topic);
+  }
+
+  private synchronized boolean observeChannel(final String channel) throws PacketBrokerException {
+    final boolean subscribed = observeTopic(channel);
+    observedTopics.add(channel);
+    return subscribed;
+  }
+
+  private boolean observeTopic(final String topic) throws PacketBrokerException {
+    final boolean dropEchoes = transportFor(topic).broadcasts();
+    return observePacketBroker(topic, message -> delegateToEventBus(topic, dropEchoes, message));
   }
 
   private boolean observePacketBroker(final String topic, final Consumer<byte[]> callback)
       throws PacketBrokerException {
     try {
-      if (observedTopics.add(topic)) {
-        pubSubConnection.addListener(new PacketDelegate(callback));
-        pubSubConnection.sync().subscribe(topic);
-        return true;
-      }
-      return false;
+      final PacketTransport topicTransport = transportFor(topic);
+      return topicTransport.subscribe(
+          topic,
+          inboundPipeline == null || !topicTransport.broadcasts()
+              ? callback
+              : inboundPipeline.wrap(topic, callback));
     } catch (final Exception exception) {
       throw new PacketBrokerException(
           "Could not create observer on channel named %s due to unexpected exception."
@@ -175,4 +848,20 @@ final class PacketBrokerImpl implements PacketBroker {
           exception);
     }
   }
+
+  private boolean observePacketBrokerPattern(final String pattern) throws PacketBrokerException {
+    try {
+      final PatternConsumer callback = this::delegatePatternToEventBus;
+      return patternTransport.subscribePattern(
+          pattern, inboundPipeline == null ? callback : inboundPipeline.wrap(pattern, callback));
+    } catch (final Exception exception) {
+      throw new PacketBrokerException(
+          "Could not create observer on channels matching %s due to unexpected exception."
+              .formatted(pattern),
+          exception);
+    }
+  }
+
+  private record ObservedTypes(
+      long observationVersion, Map<String, Map<Long, Boolean>> byTopic) {}
 }
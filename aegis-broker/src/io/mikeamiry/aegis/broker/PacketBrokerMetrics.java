@@ -0,0 +1,37 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Receives the measurements taken by the {@link PacketBroker}, allowing them to be recorded by any
+ * monitoring system.
+ *
+ * <p>Every method defaults to doing nothing, so implementations only override the measurements they
+ * are interested in. Methods are called on the publishing, receiving and timer threads of the
+ * broker, possibly concurrently, so implementations must be thread-safe and should neither block
+ * nor allocate. Latencies and round trip times are given in nanoseconds, sizes in bytes of the
+ * encoded packet, header included.
+ *
+ * <p>{@link #noop()} is used by default, while {@link RecordingPacketBrokerMetrics} records every
+ * measurement in lock-free counters and histograms, readable through snapshots.
+ */
+public interface PacketBrokerMetrics {
+
+  static PacketBrokerMetrics noop() {
+    return NoopPacketBrokerMetrics.INSTANCE;
+  }
+
+  default void packetPublished(final String channel, final int bytes) {}
+
+  default void packetReceived(final String channel, final int bytes) {}
+
+  default void packetEncoded(final long latencyNanos) {}
+
+  default void packetDecoded(final long latencyNanos) {}
+
+  default void requestCompleted(final String channel, final long roundTripNanos) {}
+
+  default void requestTimedOut(final String channel) {}
+
+  default void outstandingRequests(final IntSupplier outstandingRequests) {}
+}
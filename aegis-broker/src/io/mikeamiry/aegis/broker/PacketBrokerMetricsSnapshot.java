@@ -0,0 +1,19 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.Map;
+
+/**
+ * Holds the measurements recorded by the {@link RecordingPacketBrokerMetrics} at the time the
+ * snapshot was taken, per channel and across the whole broker, ready to be exported to a monitoring
+ * system.
+ */
+public record PacketBrokerMetricsSnapshot(
+    Map<String, ChannelMetricsSnapshot> channels,
+    HistogramSnapshot encodeLatency,
+    HistogramSnapshot decodeLatency,
+    int outstandingRequests) {
+
+  public PacketBrokerMetricsSnapshot {
+    channels = Map.copyOf(channels);
+  }
+}
@@ -0,0 +1,255 @@
+package io.mikeamiry.aegis.broker;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the optional tuning of a {@link PacketBroker} created through the {@link
+ * PacketBrokerFactory}.
+ *
+ * <p>Options default to the behaviour of a broker created without options, so {@link #defaults()}
+ * yields a broker interoperable with every other broker using defaults, including brokers predating
+ * these options. Packets are written as bare codec payloads unless {@code framedPackets} is
+ * enabled, which prefixes them with a binary {@link PacketFrame} header that older brokers cannot
+ * decode, so framing changes the wire format and is only to be enabled once every node of the
+ * cluster reads it; packets with and without the header are always accepted on read, so a rolling
+ * upgrade first deploys brokers with framing disabled, then enables it. Without framing, echoes,
+ * expired requests and packets of unobserved types are still dropped, only after decoding them.
+ * Configuring {@link PacketStreams} switches the broker from Redis pub/sub to Redis Streams, in
+ * which case publish batching, reply routing, loopback, work channels, subscription connections and
+ * publish lanes are ignored. Enabling {@code loopback} hands packets published by this node
+ * straight to its own observers of the channel, without encoding and decoding them, while still
+ * publishing them for remote nodes, so the published instance should not be modified afterward.
+ * {@link WorkChannels} are served by competing consumers, each request on them being handled by
+ * exactly one node. Without {@link InboundPipelining}, received packets are decoded and dispatched
+ * on the connection thread which received them. Subscriptions are spread across {@code
+ * subscriptionConnections} pub/sub connections, a single one by default, and packets are published
+ * on a single connection unless {@link PublishLanes} are configured. Packets streamed to
+ * subscribers are delivered on {@code streamExecutor}, the common fork join pool by default.
+ * Instances are immutable and created through the {@link Builder}.
+ */
+public final class PacketBrokerOptions {
+
+  private final @Nullable PublishBatching publishBatching;
+  private final RequestLimits requestLimits;
+  private final ReplyRouting replyRouting;
+  private final boolean framedPackets;
+  private final @Nullable PacketStreams streams;
+  private final boolean loopback;
+  private final @Nullable WorkChannels workChannels;
+  private final @Nullable InboundPipelining inboundPipelining;
+  private final int subscriptionConnections;
+  private final @Nullable PublishLanes publishLanes;
+  private final @Nullable Duration conflationWindow;
+  private final @Nullable RequestConcurrency requestConcurrency;
+  private final @Nullable RequestHedging requestHedging;
+  private final PacketBrokerMetrics metrics;
+  private final @Nullable ResponseCaching responseCaching;
+  private final Executor streamExecutor;
+
+  private PacketBrokerOptions(final Builder builder) {
+    this.publishBatching = builder.publishBatching;
+    this.requestLimits = builder.requestLimits;
+    this.replyRouting = builder.replyRouting;
+    this.framedPackets = builder.framedPackets;
+    this.streams = builder.streams;
+    this.loopback = builder.loopback;
+    this.workChannels = builder.workChannels;
+    this.inboundPipelining = builder.inboundPipelining;
+    this.subscriptionConnections = builder.subscriptionConnections;
+    this.publishLanes = builder.publishLanes;
+    this.conflationWindow = builder.conflationWindow;
+    this.requestConcurrency = builder.requestConcurrency;
+    this.requestHedging = builder.requestHedging;
+    this.metrics = builder.metrics;
+    this.responseCaching = builder.responseCaching;
+    this.streamExecutor = builder.streamExecutor;
+  }
+
+  public static PacketBrokerOptions defaults() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public @Nullable PublishBatching publishBatching() {
+    return publishBatching;
+  }
+
+  public RequestLimits requestLimits() {
+    return requestLimits;
+  }
+
+  public ReplyRouting replyRouting() {
+    return replyRouting;
+  }
+
+  public boolean framedPackets() {
+    return framedPackets;
+  }
+
+  public @Nullable PacketStreams streams() {
+    return streams;
+  }
+
+  public boolean loopback() {
+    return loopback;
+  }
+
+  public @Nullable WorkChannels workChannels() {
+    return workChannels;
+  }
+
+  public @Nullable InboundPipelining inboundPipelining() {
+    return inboundPipelining;
+  }
+
+  public int subscriptionConnections() {
+    return subscriptionConnections;
+  }
+
+  public @Nullable PublishLanes publishLanes() {
+    return publishLanes;
+  }
+
+  public @Nullable Duration conflationWindow() {
+    return conflationWindow;
+  }
+
+  public @Nullable RequestConcurrency requestConcurrency() {
+    return requestConcurrency;
+  }
+
+  public @Nullable RequestHedging requestHedging() {
+    return requestHedging;
+  }
+
+  public PacketBrokerMetrics metrics() {
+    return metrics;
+  }
+
+  public @Nullable ResponseCaching responseCaching() {
+    return responseCaching;
+  }
+
+  public Executor streamExecutor() {
+    return streamExecutor;
+  }
+
+  public static final class Builder {
+
+    private @Nullable PublishBatching publishBatching;
+    private RequestLimits requestLimits = RequestLimits.defaults();
+    private ReplyRouting replyRouting = ReplyRouting.SHARED;
+    private boolean framedPackets;
+    private @Nullable PacketStreams streams;
+    private boolean loopback;
+    private @Nullable WorkChannels workChannels;
+    private @Nullable InboundPipelining inboundPipelining;
+    private int subscriptionConnections = 1;
+    private @Nullable PublishLanes publishLanes;
+    private @Nullable Duration conflationWindow;
+    private @Nullable RequestConcurrency requestConcurrency;
+    private @Nullable RequestHedging requestHedging;
+    private PacketBrokerMetrics metrics = PacketBrokerMetrics.noop();
+    private @Nullable ResponseCaching responseCaching;
+    private Executor streamExecutor = ForkJoinPool.commonPool();
+
+    private Builder() {}
+
+    public Builder publishBatching(final @Nullable PublishBatching publishBatching) {
+      this.publishBatching = publishBatching;
+      return this;
+    }
+
+    public Builder requestLimits(final RequestLimits requestLimits) {
+      this.requestLimits = requestLimits;
+      return this;
+    }
+
+    public Builder replyRouting(final ReplyRouting replyRouting) {
+      this.replyRouting = replyRouting;
+      return this;
+    }
+
+    public Builder framedPackets(final boolean framedPackets) {
+      this.framedPackets = framedPackets;
+      return this;
+    }
+
+    public Builder streams(final @Nullable PacketStreams streams) {
+      this.streams = streams;
+      return this;
+    }
+
+    public Builder loopback(final boolean loopback) {
+      this.loopback = loopback;
+      return this;
+    }
+
+    public Builder workChannels(final @Nullable WorkChannels workChannels) {
+      this.workChannels = workChannels;
+      return this;
+    }
+
+    public Builder inboundPipelining(final @Nullable InboundPipelining inboundPipelining) {
+      this.inboundPipelining = inboundPipelining;
+      return this;
+    }
+
+    public Builder subscriptionConnections(final int subscriptionConnections) {
+      if (subscriptionConnections < 1) {
+        throw new IllegalArgumentException("Subscription connections must be greater than zero.");
+      }
+      this.subscriptionConnections = subscriptionConnections;
+      return this;
+    }
+
+    public Builder publishLanes(final @Nullable PublishLanes publishLanes) {
+      this.publishLanes = publishLanes;
+      return this;
+    }
+
+    public Builder conflationWindow(final @Nullable Duration conflationWindow) {
+      if (conflationWindow != null
+          && (conflationWindow.isNegative() || conflationWindow.isZero())) {
+        throw new IllegalArgumentException("Conflation window must be a positive duration.");
+      }
+      this.conflationWindow = conflationWindow;
+      return this;
+    }
+
+    public Builder requestConcurrency(final @Nullable RequestConcurrency requestConcurrency) {
+      this.requestConcurrency = requestConcurrency;
+      return this;
+    }
+
+    public Builder requestHedging(final @Nullable RequestHedging requestHedging) {
+      this.requestHedging = requestHedging;
+      return this;
+    }
+
+    public Builder metrics(final PacketBrokerMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    public Builder responseCaching(final @Nullable ResponseCaching responseCaching) {
+      this.responseCaching = responseCaching;
+      return this;
+    }
+
+    public Builder streamExecutor(final Executor streamExecutor) {
+      this.streamExecutor = streamExecutor;
+      return this;
+    }
+
+    public PacketBrokerOptions build() {
+      return new PacketBrokerOptions(this);
+    }
+  }
+}
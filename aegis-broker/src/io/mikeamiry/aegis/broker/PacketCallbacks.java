@@ -0,0 +1,164 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Tracks the requests awaiting a response on behalf of the {@link PacketBroker}.
+ *
+ * <p>Every registered request holds one slot out of {@link RequestLimits#maxOutstanding()} and is
+ * scheduled for expiration on a shared hashed-wheel {@link Timer}. A request leaves the table
+ * exactly once, whichever happens first: the response arrives, the timeout expires, or the caller
+ * cancels the returned future. Its slot is released and its expiration cancelled at that moment, so
+ * the size of the table is bounded by the number of requests actually in flight. A request id may
+ * only be registered once at a time, so registering a request id already in flight is rejected, and
+ * a request leaving the table never removes the entry of another request.
+ *
+ * <p>A scatter-gather request collects the responses of several nodes under a single entry, and
+ * leaves the table once the expected number of responses arrived or its deadline expired, whichever
+ * happens first. Responses arriving later find no entry and are dropped, before being decoded when
+ * framed.
+ */
+final class PacketCallbacks {
+
+  private final Map<String, Predicate<Packet>> pendingRequests;
+  private final Semaphore permits;
+  private final RequestLimits limits;
+  private final Timer timer;
+
+  PacketCallbacks(final RequestLimits limits, final Timer timer) {
+    this.pendingRequests = new ConcurrentHashMap<>();
+    this.permits = new Semaphore(limits.maxOutstanding());
+    this.limits = limits;
+    this.timer = timer;
+  }
+
+  <T extends Packet> CompletableFuture<T> register(final String requestId, final Duration timeout)
+      throws PacketBrokerException {
+    acquire(requestId, timeout);
+
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    //noinspection unchecked
+    final Predicate<Packet> completion = response -> future.complete((T) response);
+    track(requestId, completion);
+
+    final Timeout expiration =
+        timer.newTimeout(
+            ignored ->
+                future.completeExceptionally(
+                    new TimeoutException(
+                        "Could not receive response for request %s within %s."
+                            .formatted(requestId, timeout))),
+            timeout.toNanos(),
+            NANOSECONDS);
+    release(requestId, completion, future, expiration);
+    return future;
+  }
+
+  <T extends Packet> CompletableFuture<List<T>> registerAll(
+      final String requestId, final int expectedCount, final Duration deadline)
+      throws PacketBrokerException {
+    acquire(requestId, deadline);
+
+    final List<T> responses = new ArrayList<>(expectedCount);
+    final CompletableFuture<List<T>> future = new CompletableFuture<>();
+    final Predicate<Packet> completion =
+        response -> {
+          synchronized (responses) {
+            if (future.isDone()) {
+              return false;
+            }
+            //noinspection unchecked
+            responses.add((T) response);
+            if (responses.size() >= expectedCount) {
+              future.complete(List.copyOf(responses));
+            }
+            return true;
+          }
+        };
+    track(requestId, completion);
+
+    final Timeout expiration =
+        timer.newTimeout(
+            ignored -> {
+              synchronized (responses) {
+                future.complete(List.copyOf(responses));
+              }
+            },
+            deadline.toNanos(),
+            NANOSECONDS);
+    release(requestId, completion, future, expiration);
+    return future;
+  }
+
+  boolean complete(final String requestId, final Packet response) {
+    final Predicate<Packet> completion = pendingRequests.get(requestId);
+    return completion != null && completion.test(response);
+  }
+
+  boolean isPending(final String requestId) {
+    return pendingRequests.containsKey(requestId);
+  }
+
+  int size() {
+    return pendingRequests.size();
+  }
+
+  private void track(final String requestId, final Predicate<Packet> completion)
+      throws PacketBrokerException {
+    if (pendingRequests.putIfAbsent(requestId, completion) != null) {
+      permits.release();
+      throw new PacketBrokerException(
+          "Could not register request %s, because it is already in flight.".formatted(requestId));
+    }
+  }
+
+  private void release(
+      final String requestId,
+      final Predicate<Packet> completion,
+      final CompletableFuture<?> future,
+      final Timeout expiration) {
+    future.whenComplete(
+        (response, cause) -> {
+          expiration.cancel();
+          if (pendingRequests.remove(requestId, completion)) {
+            permits.release();
+          }
+        });
+  }
+
+  private void acquire(final String requestId, final Duration timeout)
+      throws PacketBrokerException {
+    if (permits.tryAcquire()) {
+      return;
+    }
+
+    if (limits.rejectionPolicy() == RequestRejectionPolicy.BLOCK) {
+      try {
+        if (permits.tryAcquire(timeout.toNanos(), NANOSECONDS)) {
+          return;
+        }
+      } catch (final InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        throw new PacketBrokerException(
+            "Could not register request %s, because of interruption.".formatted(requestId),
+            exception);
+      }
+    }
+
+    throw new PacketBrokerException(
+        "Could not register request %s, because of %d outstanding requests."
+            .formatted(requestId, limits.maxOutstanding()));
+  }
+}
@@ -0,0 +1,119 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+/**
+ * Coalesces {@link Conflatable} packets published by the {@link PacketBroker}, so only the newest
+ * packet per channel and conflation key is published within a conflation window.
+ *
+ * <p>The first packet of a channel and key opens a window; packets submitted for the same channel
+ * and key until the window elapses replace it, and the newest one is encoded and published once the
+ * window elapses. Every submission returns the same future, completed with the outcome of the
+ * single publish, so superseded packets are never encoded at all.
+ *
+ * <p>Once closed, pending packets are published immediately, and later submissions are rejected
+ * with a failed future.
+ */
+final class PacketConflator {
+
+  private final Duration window;
+  private final BiFunction<String, Packet, CompletableFuture<Long>> publisher;
+  private final ScheduledExecutorService scheduler;
+  private final Map<ConflationKey, Conflation> pendingConflations;
+  private volatile boolean closed;
+
+  PacketConflator(
+      final Duration window, final BiFunction<String, Packet, CompletableFuture<Long>> publisher) {
+    this.window = window;
+    this.publisher = publisher;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "aegis-publish-conflator");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.pendingConflations = new ConcurrentHashMap<>();
+  }
+
+  CompletableFuture<Long> submit(final String channel, final Packet packet, final String key) {
+    if (closed) {
+      return failedFuture(new PacketBrokerException(rejectionOf(channel)));
+    }
+
+    final ConflationKey conflationKey = new ConflationKey(channel, key);
+    final Conflation conflation =
+        pendingConflations.compute(
+            conflationKey,
+            (ignored, existing) -> {
+              if (existing == null) {
+                return new Conflation(packet);
+              }
+              existing.packet = packet;
+              return existing;
+            });
+    if (conflation.scheduled.compareAndSet(false, true)) {
+      try {
+        scheduler.schedule(() -> flush(conflationKey), window.toNanos(), NANOSECONDS);
+      } catch (final RejectedExecutionException exception) {
+        pendingConflations.remove(conflationKey, conflation);
+        conflation.future.completeExceptionally(
+            new PacketBrokerException(rejectionOf(channel), exception));
+      }
+    }
+    return conflation.future;
+  }
+
+  void close() {
+    closed = true;
+    scheduler.shutdown();
+    pendingConflations.keySet().forEach(this::flush);
+  }
+
+  private void flush(final ConflationKey conflationKey) {
+    final Conflation conflation = pendingConflations.remove(conflationKey);
+    if (conflation == null) {
+      return;
+    }
+
+    publisher
+        .apply(conflationKey.channel(), conflation.packet)
+        .whenComplete(
+            (receivers, cause) -> {
+              if (cause != null) {
+                conflation.future.completeExceptionally(cause);
+              } else {
+                conflation.future.complete(receivers);
+              }
+            });
+  }
+
+  private static String rejectionOf(final String channel) {
+    return "Could not conflate packet on channel named %s, because of closed packet broker."
+        .formatted(channel);
+  }
+
+  private record ConflationKey(String channel, String key) {}
+
+  private static final class Conflation {
+
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private Packet packet;
+
+    private Conflation(final Packet packet) {
+      this.packet = packet;
+    }
+  }
+}
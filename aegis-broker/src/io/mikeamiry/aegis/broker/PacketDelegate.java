@@ -1,23 +1,95 @@
 package io.mikeamiry.aegis.broker;
 
 import io.lettuce.core.pubsub.RedisPubSubListener;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
+/**
+ * A single {@link RedisPubSubListener} shared by every subscription of a pub/sub connection, which
+ * routes inbound messages to their consumers through a dispatch table keyed by channel name.
+ *
+ * <p>Routing by channel keeps the inbound cost constant per message regardless of the number of
+ * observed channels, and guarantees that each message is handled only by the consumer of the
+ * channel it was published on.
+ *
+ * <p>Messages received through pattern subscriptions are resolved with a {@link TopicMatcher}.
+ * Redis delivers such a message once per matching pattern, so only the copy delivered for the first
+ * matching pattern is consumed, together with every matching pattern, which lets the message be
+ * decoded once regardless of the number of patterns it matches. Redis names the pattern as it was
+ * subscribed, escaped for its glob syntax, so the delegate maps it back to the observed pattern
+ * before comparing it.
+ */
 final class PacketDelegate implements RedisPubSubListener<String, byte[]> {
 
-  private final Consumer<byte[]> messageConsumer;
+  private final Map<String, Consumer<byte[]>> consumersByChannel;
+  private final Map<String, PatternConsumer> consumersByPattern;
+  private final Map<String, String> patternsBySubscribedPattern;
+  private volatile TopicMatcher topicMatcher;
 
-  PacketDelegate(final Consumer<byte[]> messageConsumer) {
-    this.messageConsumer = messageConsumer;
+  PacketDelegate() {
+    this.consumersByChannel = new ConcurrentHashMap<>();
+    this.consumersByPattern = new ConcurrentHashMap<>();
+    this.patternsBySubscribedPattern = new ConcurrentHashMap<>();
+    this.topicMatcher = TopicMatcher.empty();
+  }
+
+  boolean register(final String channel, final Consumer<byte[]> consumer) {
+    return consumersByChannel.putIfAbsent(channel, consumer) == null;
+  }
+
+  void unregister(final String channel) {
+    consumersByChannel.remove(channel);
+  }
+
+  boolean registerPattern(
+      final String pattern, final String subscribedPattern, final PatternConsumer consumer) {
+    if (consumersByPattern.putIfAbsent(pattern, consumer) != null) {
+      return false;
+    }
+    patternsBySubscribedPattern.put(subscribedPattern, pattern);
+    return true;
+  }
+
+  void unregisterPattern(final String pattern, final String subscribedPattern) {
+    patternsBySubscribedPattern.remove(subscribedPattern);
+    consumersByPattern.remove(pattern);
+    compilePatterns();
+  }
+
+  synchronized void compilePatterns() {
+    topicMatcher = TopicMatcher.compile(consumersByPattern.keySet());
+  }
+
+  String[] matchPatterns(final String channel) {
+    return topicMatcher.match(channel);
   }
 
   @Override
   public void message(final String channel, final byte[] message) {
-    messageConsumer.accept(message);
+    final Consumer<byte[]> consumer = consumersByChannel.get(channel);
+    if (consumer != null) {
+      consumer.accept(message);
+    }
   }
 
   @Override
-  public void message(final String pattern, final String channel, final byte[] message) {}
+  public void message(final String subscribedPattern, final String channel, final byte[] message) {
+    final String pattern = patternsBySubscribedPattern.get(subscribedPattern);
+    if (pattern == null) {
+      return;
+    }
+
+    final String[] patterns = topicMatcher.match(channel);
+    if (patterns.length == 0 || !patterns[0].equals(pattern)) {
+      return;
+    }
+
+    final PatternConsumer consumer = consumersByPattern.get(pattern);
+    if (consumer != null) {
+      consumer.accept(channel, patterns, message);
+    }
+  }
 
   @Override
   public void subscribed(final String channel, final long count) {}
@@ -0,0 +1,255 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.makeamiry.aegis.codec.Codec;
+import io.makeamiry.aegis.codec.DecodingException;
+import io.makeamiry.aegis.codec.EncodingException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the binary envelope written by the {@link PacketBroker} in front of every encoded
+ * packet, allowing routing decisions to be made by reading only a few header bytes.
+ *
+ * <p>Layout of a frame: - magic (2 bytes), telling framed packets apart from bare codec payloads
+ * written by older brokers, and version (1 byte) of the layout. - flags (1 byte), marking the
+ * optional header fields present. - source and target, each written as a length prefixed UTF-8
+ * string, with a negative length standing for a missing value. - optional conflation key, deadline
+ * (8 bytes) and request id, each present only when its flag is set. - type id (8 bytes), a 64-bit
+ * hash of the packet class name. - creation timestamp (8 bytes), in epoch milliseconds. - the codec
+ * body, up to the end of the frame.
+ *
+ * <p>The version is bumped whenever the layout changes. Version 1 knew no optional field, and
+ * version 2 added the conflation key, deadline and request id. Frames of an unknown version, or
+ * carrying flags unknown to their version, are rejected, rather than having their body read from a
+ * wrong offset.
+ *
+ * <p>Reading a frame only resolves header offsets; the body is decoded lazily through {@link
+ * #decode(Codec)}, directly from the frame without copying it.
+ */
+final class PacketFrame {
+
+  private static final byte MAGIC_HIGH = (byte) 0xAE;
+  private static final byte MAGIC_LOW = (byte) 0x61;
+  private static final byte VERSION = 2;
+  private static final int MINIMUM_LENGTH = 4 + 2 + 2 + 8 + 8;
+  private static final short MISSING_VALUE = -1;
+  private static final byte FLAG_CONFLATION_KEY = 0x01;
+  private static final byte FLAG_DEADLINE = 0x02;
+  private static final byte FLAG_REQUEST_ID = 0x04;
+  private static final byte[] KNOWN_FLAGS_BY_VERSION = {
+    0, 0, FLAG_CONFLATION_KEY | FLAG_DEADLINE | FLAG_REQUEST_ID
+  };
+  private static final ClassValue<Long> TYPE_IDS =
+      new ClassValue<>() {
+        @Override
+        protected Long computeValue(final Class<?> type) {
+          return computeTypeId(type.getName());
+        }
+      };
+
+  private final byte[] frame;
+  private final int sourceOffset;
+  private final int sourceLength;
+  private final int targetOffset;
+  private final int targetLength;
+  private final int conflationKeyOffset;
+  private final int conflationKeyLength;
+  private final long deadline;
+  private final int requestIdOffset;
+  private final int requestIdLength;
+  private final long typeId;
+  private final long timestamp;
+  private final int bodyOffset;
+
+  private PacketFrame(final byte[] frame) {
+    final ByteBuffer buffer = ByteBuffer.wrap(frame, 4, frame.length - 4);
+    final byte flags = frame[3];
+    this.frame = frame;
+    this.sourceLength = buffer.getShort();
+    this.sourceOffset = buffer.position();
+    skip(buffer, sourceLength);
+    this.targetLength = buffer.getShort();
+    this.targetOffset = buffer.position();
+    skip(buffer, targetLength);
+    if ((flags & FLAG_CONFLATION_KEY) != 0) {
+      this.conflationKeyLength = buffer.getShort();
+      this.conflationKeyOffset = buffer.position();
+      skip(buffer, conflationKeyLength);
+    } else {
+      this.conflationKeyLength = MISSING_VALUE;
+      this.conflationKeyOffset = buffer.position();
+    }
+    this.deadline = (flags & FLAG_DEADLINE) != 0 ? buffer.getLong() : 0;
+    if ((flags & FLAG_REQUEST_ID) != 0) {
+      this.requestIdLength = buffer.getShort();
+      this.requestIdOffset = buffer.position();
+      skip(buffer, requestIdLength);
+    } else {
+      this.requestIdLength = MISSING_VALUE;
+      this.requestIdOffset = buffer.position();
+    }
+    this.typeId = buffer.getLong();
+    this.timestamp = buffer.getLong();
+    this.bodyOffset = buffer.position();
+  }
+
+  static byte[] write(final Packet packet, final byte[] body) throws EncodingException {
+    final byte[] source = toBytes(packet.source());
+    final byte[] target = toBytes(packet.target());
+    final byte[] conflationKey =
+        packet instanceof Conflatable conflatable ? toBytes(conflatable.conflationKey()) : null;
+    final byte[] requestId = toBytes(packet.requestId());
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(
+            MINIMUM_LENGTH
+                + length(source)
+                + length(target)
+                + (conflationKey == null ? 0 : 2 + conflationKey.length)
+                + (packet.deadline() == 0 ? 0 : 8)
+                + (requestId == null ? 0 : 2 + requestId.length)
+                + body.length);
+    buffer.put(MAGIC_HIGH).put(MAGIC_LOW).put(VERSION);
+    buffer.put(
+        (byte)
+            ((conflationKey == null ? 0 : FLAG_CONFLATION_KEY)
+                | (packet.deadline() == 0 ? 0 : FLAG_DEADLINE)
+                | (requestId == null ? 0 : FLAG_REQUEST_ID)));
+    putString(buffer, source);
+    putString(buffer, target);
+    if (conflationKey != null) {
+      putString(buffer, conflationKey);
+    }
+    if (packet.deadline() != 0) {
+      buffer.putLong(packet.deadline());
+    }
+    if (requestId != null) {
+      putString(buffer, requestId);
+    }
+    buffer.putLong(typeId(packet.getClass()));
+    buffer.putLong(currentTimeMillis());
+    buffer.put(body);
+    return buffer.array();
+  }
+
+  static boolean isFramed(final byte[] message) {
+    return message.length >= MINIMUM_LENGTH
+        && message[0] == MAGIC_HIGH
+        && message[1] == MAGIC_LOW;
+  }
+
+  static PacketFrame read(final byte[] frame) throws DecodingException {
+    final byte version = frame[2];
+    if (version < 1 || version > VERSION) {
+      throw new DecodingException(
+          "Could not read packet frame, because of unsupported version %d.".formatted(version));
+    }
+
+    final byte flags = frame[3];
+    if ((flags & ~KNOWN_FLAGS_BY_VERSION[version]) != 0) {
+      throw new DecodingException(
+          "Could not read packet frame, because of unknown flags %d for version %d."
+              .formatted(flags, version));
+    }
+
+    try {
+      return new PacketFrame(frame);
+    } catch (final RuntimeException exception) {
+      throw new DecodingException(
+          "Could not read packet frame, because of malformed header.", exception);
+    }
+  }
+
+  static long typeId(final Class<?> type) {
+    return TYPE_IDS.get(type);
+  }
+
+  boolean isSourcedBy(final byte[] identity) {
+    return sourceLength == identity.length
+        && Arrays.equals(
+            frame, sourceOffset, sourceOffset + sourceLength, identity, 0, identity.length);
+  }
+
+  @Nullable
+  String source() {
+    return sourceLength < 0 ? null : new String(frame, sourceOffset, sourceLength, UTF_8);
+  }
+
+  @Nullable
+  String target() {
+    return targetLength < 0 ? null : new String(frame, targetOffset, targetLength, UTF_8);
+  }
+
+  @Nullable
+  String conflationKey() {
+    return conflationKeyLength < 0
+        ? null
+        : new String(frame, conflationKeyOffset, conflationKeyLength, UTF_8);
+  }
+
+  @Nullable
+  String requestId() {
+    return requestIdLength < 0 ? null : new String(frame, requestIdOffset, requestIdLength, UTF_8);
+  }
+
+  long deadline() {
+    return deadline;
+  }
+
+  boolean isExpired(final long now) {
+    return deadline != 0 && deadline < now;
+  }
+
+  long typeId() {
+    return typeId;
+  }
+
+  long timestamp() {
+    return timestamp;
+  }
+
+  <T extends Packet> T decode(final Codec codec) throws DecodingException {
+    return codec.decodeFromBytes(frame, bodyOffset, frame.length - bodyOffset);
+  }
+
+  private static long computeTypeId(final String typeName) {
+    // FNV-1a, 64-bit variant
+    long hash = 0xcbf29ce484222325L;
+    for (int index = 0; index < typeName.length(); index++) {
+      hash ^= typeName.charAt(index);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static byte @Nullable [] toBytes(final @Nullable String value) {
+    return value == null ? null : value.getBytes(UTF_8);
+  }
+
+  private static int length(final byte @Nullable [] value) {
+    return value == null ? 0 : value.length;
+  }
+
+  private static void putString(final ByteBuffer buffer, final byte @Nullable [] value) {
+    if (value == null) {
+      buffer.putShort(MISSING_VALUE);
+      return;
+    }
+    if (value.length > Short.MAX_VALUE) {
+      throw new EncodingException(
+          "Could not write packet frame, because of header value exceeding %d bytes."
+              .formatted((int) Short.MAX_VALUE));
+    }
+    buffer.putShort((short) value.length);
+    buffer.put(value);
+  }
+
+  private static void skip(final ByteBuffer buffer, final int length) {
+    if (length > 0) {
+      buffer.position(buffer.position() + length);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents the outbound side of the {@link PacketBroker}, responsible for handing already encoded
+ * packets to Redis.
+ *
+ * <p>Implementations decide how commands are written to the connection: {@link
+ * DirectPacketPublisher} writes every command immediately, while {@link BatchingPacketPublisher}
+ * pipelines commands and flushes them together once a size or linger threshold is reached.
+ */
+sealed interface PacketPublisher permits DirectPacketPublisher, BatchingPacketPublisher {
+
+  void publish(final String channel, final byte[] payload);
+
+  CompletableFuture<Long> publishAsync(final String channel, final byte[] payload);
+
+  void close();
+}
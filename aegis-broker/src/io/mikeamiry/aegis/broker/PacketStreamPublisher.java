@@ -0,0 +1,240 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.util.logging.Level.WARNING;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * A {@link Flow.Publisher} of the packets of a given type received by the {@link PacketBroker} on a
+ * channel, returned by {@link PacketBroker#subscribe(String, Class)}.
+ *
+ * <p>Every subscriber owns a buffer of at most {@code bufferSize} packets, filled as packets are
+ * received and drained on the given {@link Executor} as the subscriber signals demand through
+ * {@link Flow.Subscription#request(long)}. Once the buffer of a subscriber is full, the {@link
+ * InboundOverflowPolicy} decides which packet gives way, or blocks the receiving thread until the
+ * subscriber catches up, so a slow subscriber never holds more than its buffer.
+ *
+ * <p>Once its last subscriber cancelled, the publisher is released, so the broker stops receiving
+ * the channel unless it is observed otherwise, and subscribers arriving later are completed right
+ * away. Completing the publisher, as the broker does once closed, completes every subscriber once
+ * it was handed the buffered packets it requested.
+ */
+final class PacketStreamPublisher<T extends Packet> implements Flow.Publisher<T> {
+
+  private static final Logger log = Logger.getLogger(PacketStreamPublisher.class.getName());
+
+  private final Class<T> type;
+  private final int bufferSize;
+  private final InboundOverflowPolicy overflowPolicy;
+  private final Executor executor;
+  private final Consumer<PacketStreamPublisher<T>> releaser;
+  private final List<PacketStreamSubscription> subscriptions;
+  private boolean completed;
+
+  PacketStreamPublisher(
+      final Class<T> type,
+      final int bufferSize,
+      final InboundOverflowPolicy overflowPolicy,
+      final Executor executor,
+      final Consumer<PacketStreamPublisher<T>> releaser) {
+    this.type = type;
+    this.bufferSize = bufferSize;
+    this.overflowPolicy = overflowPolicy;
+    this.executor = executor;
+    this.releaser = releaser;
+    this.subscriptions = new CopyOnWriteArrayList<>();
+  }
+
+  boolean accepts(final Class<?> packetType) {
+    return type.isAssignableFrom(packetType);
+  }
+
+  void offer(final Packet packet) {
+    if (!type.isInstance(packet)) {
+      return;
+    }
+
+    final T typedPacket = type.cast(packet);
+    for (final PacketStreamSubscription subscription : subscriptions) {
+      subscription.offer(typedPacket);
+    }
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    final PacketStreamSubscription subscription = new PacketStreamSubscription(subscriber);
+    final boolean attached;
+    synchronized (subscriptions) {
+      attached = !completed && subscriptions.add(subscription);
+    }
+
+    subscriber.onSubscribe(subscription);
+    if (!attached) {
+      subscription.complete();
+    }
+  }
+
+  void complete() {
+    synchronized (subscriptions) {
+      completed = true;
+    }
+    subscriptions.forEach(PacketStreamSubscription::complete);
+  }
+
+  private void detach(final PacketStreamSubscription subscription) {
+    final boolean released;
+    synchronized (subscriptions) {
+      released = subscriptions.remove(subscription) && subscriptions.isEmpty() && !completed;
+      completed |= released;
+    }
+
+    if (released) {
+      releaser.accept(this);
+    }
+  }
+
+  private final class PacketStreamSubscription implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super T> subscriber;
+    private final Queue<T> buffer;
+    private final AtomicLong demand;
+    private final AtomicInteger pendingDrains;
+    private volatile boolean cancelled;
+    private volatile boolean completing;
+
+    private PacketStreamSubscription(final Flow.Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+      this.buffer = new ArrayDeque<>();
+      this.demand = new AtomicLong();
+      this.pendingDrains = new AtomicInteger();
+    }
+
+    private void offer(final T packet) {
+      synchronized (buffer) {
+        if (overflowPolicy == InboundOverflowPolicy.CONFLATE
+            && packet instanceof Conflatable conflatable) {
+          buffer.removeIf(
+              queued ->
+                  queued instanceof Conflatable other
+                      && other.conflationKey().equals(conflatable.conflationKey()));
+        }
+
+        if (buffer.size() >= bufferSize) {
+          switch (overflowPolicy) {
+            case DROP_OLDEST -> buffer.poll();
+            case DROP_NEWEST -> {
+              return;
+            }
+            case CONFLATE -> buffer.clear();
+            case BLOCK -> {
+              while (buffer.size() >= bufferSize && !cancelled) {
+                try {
+                  buffer.wait();
+                } catch (final InterruptedException exception) {
+                  Thread.currentThread().interrupt();
+                  return;
+                }
+              }
+            }
+          }
+        }
+
+        if (cancelled) {
+          return;
+        }
+        buffer.add(packet);
+      }
+      drain();
+    }
+
+    @Override
+    public void request(final long count) {
+      if (count <= 0) {
+        cancel();
+        subscriber.onError(
+            new IllegalArgumentException("Requested count must be greater than zero."));
+        return;
+      }
+
+      demand.getAndUpdate(current -> current + count < 0 ? Long.MAX_VALUE : current + count);
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      terminate();
+      detach(this);
+    }
+
+    private void complete() {
+      completing = true;
+      drain();
+    }
+
+    private void terminate() {
+      cancelled = true;
+      synchronized (buffer) {
+        buffer.clear();
+        buffer.notifyAll();
+      }
+    }
+
+    private void drain() {
+      if (pendingDrains.getAndIncrement() == 0) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      do {
+        final long requested = demand.get();
+        long emitted = 0;
+        while (emitted != requested && !cancelled) {
+          final T packet;
+          synchronized (buffer) {
+            packet = buffer.poll();
+            buffer.notifyAll();
+          }
+          if (packet == null) {
+            break;
+          }
+
+          try {
+            subscriber.onNext(packet);
+          } catch (final Exception exception) {
+            log.log(
+                WARNING, "Could not deliver streamed packet, cancelling subscription.", exception);
+            cancel();
+            return;
+          }
+          emitted++;
+        }
+
+        if (emitted > 0 && requested != Long.MAX_VALUE) {
+          demand.addAndGet(-emitted);
+        }
+
+        if (completing && !cancelled) {
+          terminate();
+          subscriptions.remove(this);
+          subscriber.onComplete();
+          return;
+        }
+        missed = pendingDrains.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+}
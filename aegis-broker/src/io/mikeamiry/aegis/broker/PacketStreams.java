@@ -0,0 +1,38 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.time.Duration.ofSeconds;
+
+import java.time.Duration;
+
+/**
+ * Describes the Redis Streams transport of the {@link PacketBroker}, which replaces pub/sub once
+ * configured.
+ *
+ * <p>{@code group} names the consumer group shared by every node reading the same channels, so each
+ * packet is handled by exactly one of them. {@code batchSize} is the {@code COUNT} of entries read
+ * at once, and {@code block} is how long a read waits for new entries. {@code maxLength} bounds
+ * every stream through approximate {@code MAXLEN} trimming on append. Entries left pending by a
+ * consumer for longer than {@code claimIdle} are reclaimed by the remaining consumers.
+ */
+public record PacketStreams(
+    String group, int batchSize, Duration block, long maxLength, Duration claimIdle) {
+
+  public PacketStreams {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be greater than zero.");
+    }
+    if (block.isNegative() || block.isZero()) {
+      throw new IllegalArgumentException("Block must be a positive duration.");
+    }
+    if (maxLength < 1) {
+      throw new IllegalArgumentException("Max length must be greater than zero.");
+    }
+    if (claimIdle.isNegative() || claimIdle.isZero()) {
+      throw new IllegalArgumentException("Claim idle must be a positive duration.");
+    }
+  }
+
+  public static PacketStreams create(final String group) {
+    return new PacketStreams(group, 64, ofSeconds(1L), 100_000L, ofSeconds(30L));
+  }
+}
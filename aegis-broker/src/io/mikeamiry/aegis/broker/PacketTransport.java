@@ -0,0 +1,33 @@
+package io.mikeamiry.aegis.broker;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Represents the Redis facing side of the {@link PacketBroker}, moving already encoded packets
+ * between channels and their consumers.
+ *
+ * <p>{@link PubSubPacketTransport} broadcasts every packet to each subscribed node through Redis
+ * pub/sub, while {@link StreamPacketTransport} appends packets to Redis streams consumed by a
+ * consumer group, so each packet is delivered to exactly one node of the group and acknowledged
+ * once dispatched successfully, being redelivered otherwise. Only transports implementing {@link
+ * PatternPacketTransport} subscribe to glob patterns.
+ */
+sealed interface PacketTransport extends Closeable
+    permits PatternPacketTransport, StreamPacketTransport {
+
+  void publish(final String channel, final byte[] payload, final PublishLane lane);
+
+  CompletableFuture<Long> publishAsync(
+      final String channel, final byte[] payload, final PublishLane lane);
+
+  boolean subscribe(final String channel, final Consumer<byte[]> consumer);
+
+  void unsubscribe(final String channel);
+
+  boolean broadcasts();
+
+  @Override
+  void close();
+}
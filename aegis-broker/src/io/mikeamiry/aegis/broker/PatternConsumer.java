@@ -0,0 +1,11 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Consumes a message received through pattern subscriptions, along with the channel it was
+ * published on and every subscribed pattern matching that channel.
+ */
+@FunctionalInterface
+interface PatternConsumer {
+
+  void accept(final String channel, final String[] patterns, final byte[] message);
+}
@@ -0,0 +1,16 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Represents a {@link PacketTransport} able to subscribe to every channel matching a glob pattern,
+ * which only Redis pub/sub supports, as streams can only be read by name.
+ *
+ * <p>The subscribed patterns matching a channel are resolved with the same {@link TopicMatcher}
+ * routing inbound messages, so packets delivered locally reach the same patterns as packets
+ * received from Redis.
+ */
+sealed interface PatternPacketTransport extends PacketTransport permits PubSubPacketTransport {
+
+  boolean subscribePattern(final String pattern, final PatternConsumer consumer);
+
+  String[] matchPatterns(final String channel);
+}
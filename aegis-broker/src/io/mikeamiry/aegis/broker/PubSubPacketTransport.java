@@ -0,0 +1,156 @@
+package io.mikeamiry.aegis.broker;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link PacketTransport} built on Redis pub/sub, delivering every packet to each node subscribed
+ * to its channel.
+ *
+ * <p>Outbound packets are written through a {@link PacketPublisher}, pipelined in batches when
+ * {@link PublishBatching} is configured. With {@link PublishLanes}, bulk packets are striped by
+ * channel across several publishers, while {@link PublishLane#PRIORITY} packets bypass them on a
+ * dedicated, unbatched connection. Inbound packets arrive on one of several pub/sub connections,
+ * each topic being assigned to a connection by a {@link SubscriptionRing}, so inbound traffic is
+ * read by as many event loop threads as there are connections. Packets of every connection are
+ * routed by channel through a single {@link PacketDelegate}. Glob topics are subscribed with {@code
+ * PSUBSCRIBE}, escaping character classes which are not part of the supported glob syntax.
+ */
+final class PubSubPacketTransport implements PatternPacketTransport {
+
+  private final List<PacketPublisher> publishers;
+  private final @Nullable PacketPublisher priorityPublisher;
+  private final List<StatefulRedisPubSubConnection<String, byte[]>> pubSubConnections;
+  private final SubscriptionRing subscriptionRing;
+  private final PacketDelegate packetDelegate;
+
+  PubSubPacketTransport(
+      final RedisClient redisClient,
+      final RedisCodec<String, byte[]> codec,
+      final @Nullable PublishBatching publishBatching,
+      final @Nullable PublishLanes publishLanes,
+      final int subscriptionConnections) {
+    final int stripes = publishLanes == null ? 1 : publishLanes.stripes();
+    this.publishers = new ArrayList<>(stripes);
+    for (int index = 0; index < stripes; index++) {
+      publishers.add(
+          publishBatching == null
+              ? new DirectPacketPublisher(redisClient.connect(codec))
+              : new BatchingPacketPublisher(redisClient.connect(codec), publishBatching));
+    }
+    this.priorityPublisher =
+        publishLanes == null ? null : new DirectPacketPublisher(redisClient.connect(codec));
+    this.packetDelegate = new PacketDelegate();
+    this.pubSubConnections = new ArrayList<>(subscriptionConnections);
+    for (int index = 0; index < subscriptionConnections; index++) {
+      final StatefulRedisPubSubConnection<String, byte[]> pubSubConnection =
+          redisClient.connectPubSub(codec);
+      pubSubConnection.addListener(packetDelegate);
+      pubSubConnections.add(pubSubConnection);
+    }
+    this.subscriptionRing = new SubscriptionRing(subscriptionConnections);
+  }
+
+  @Override
+  public void publish(final String channel, final byte[] payload, final PublishLane lane) {
+    publisherOf(channel, lane).publish(channel, payload);
+  }
+
+  @Override
+  public CompletableFuture<Long> publishAsync(
+      final String channel, final byte[] payload, final PublishLane lane) {
+    return publisherOf(channel, lane).publishAsync(channel, payload);
+  }
+
+  @Override
+  public boolean subscribe(final String channel, final Consumer<byte[]> consumer) {
+    if (!packetDelegate.register(channel, consumer)) {
+      return false;
+    }
+
+    try {
+      connectionOf(channel).sync().subscribe(channel);
+      return true;
+    } catch (final Exception exception) {
+      subscriptionRing.release(channel);
+      packetDelegate.unregister(channel);
+      throw exception;
+    }
+  }
+
+  @Override
+  public void unsubscribe(final String channel) {
+    packetDelegate.unregister(channel);
+    try {
+      connectionOf(channel).sync().unsubscribe(channel);
+    } finally {
+      subscriptionRing.release(channel);
+    }
+  }
+
+  @Override
+  public boolean subscribePattern(final String pattern, final PatternConsumer consumer) {
+    final String subscribedPattern = escapePattern(pattern);
+    if (!packetDelegate.registerPattern(pattern, subscribedPattern, consumer)) {
+      return false;
+    }
+
+    try {
+      connectionOf(pattern).sync().psubscribe(subscribedPattern);
+      packetDelegate.compilePatterns();
+      return true;
+    } catch (final Exception exception) {
+      subscriptionRing.release(pattern);
+      packetDelegate.unregisterPattern(pattern, subscribedPattern);
+      throw exception;
+    }
+  }
+
+  @Override
+  public String[] matchPatterns(final String channel) {
+    return packetDelegate.matchPatterns(channel);
+  }
+
+  @Override
+  public boolean broadcasts() {
+    return true;
+  }
+
+  @Override
+  public void close() {
+    publishers.forEach(PacketPublisher::close);
+    if (priorityPublisher != null) {
+      priorityPublisher.close();
+    }
+    pubSubConnections.forEach(StatefulRedisPubSubConnection::close);
+  }
+
+  private PacketPublisher publisherOf(final String channel, final PublishLane lane) {
+    if (lane == PublishLane.PRIORITY && priorityPublisher != null) {
+      return priorityPublisher;
+    }
+    return publishers.get(Math.floorMod(channel.hashCode(), publishers.size()));
+  }
+
+  private StatefulRedisPubSubConnection<String, byte[]> connectionOf(final String topic) {
+    return pubSubConnections.get(subscriptionRing.assign(topic));
+  }
+
+  private static String escapePattern(final String pattern) {
+    final StringBuilder escaped = new StringBuilder(pattern.length());
+    for (int index = 0; index < pattern.length(); index++) {
+      final char character = pattern.charAt(index);
+      if (character == '[' || character == ']' || character == '\\') {
+        escaped.append('\\');
+      }
+      escaped.append(character);
+    }
+    return escaped.toString();
+  }
+}
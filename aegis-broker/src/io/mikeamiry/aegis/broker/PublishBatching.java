@@ -0,0 +1,21 @@
+package io.mikeamiry.aegis.broker;
+
+import java.time.Duration;
+
+/**
+ * Describes the limits of the batching publisher mode of the {@link PacketBroker}.
+ *
+ * <p>Pending publish commands are flushed together once {@code maxBatchSize} commands are queued,
+ * or once {@code linger} has elapsed since the first command of the batch was queued.
+ */
+public record PublishBatching(int maxBatchSize, Duration linger) {
+
+  public PublishBatching {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be greater than zero.");
+    }
+    if (linger.isNegative() || linger.isZero()) {
+      throw new IllegalArgumentException("Linger must be a positive duration.");
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Designates the connection a packet is published on by a {@link PacketTransport} configured with
+ * {@link PublishLanes}.
+ *
+ * <p>- {@link #BULK}: the packet is published on one of the striped bulk connections, chosen by its
+ * channel, so packets of a channel keep their order. - {@link #PRIORITY}: the packet is published
+ * on the priority connection, never batched and never queued behind bulk traffic, which carries
+ * requests, their responses and the channels or packet types declared as priority.
+ */
+enum PublishLane {
+  BULK,
+  PRIORITY
+}
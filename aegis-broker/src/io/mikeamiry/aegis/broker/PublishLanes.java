@@ -0,0 +1,28 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.Set;
+
+/**
+ * Describes the publish connections of the {@link PacketBroker}, separating bulk traffic from
+ * latency sensitive traffic.
+ *
+ * <p>Bulk packets are spread across {@code stripes} connections, each channel always using the same
+ * one. Requests, their responses, packets published on {@code priorityChannels} and packets of
+ * {@code priorityTypes} are published on a dedicated priority connection, so they are never queued
+ * behind a burst of bulk packets. Publish batching only applies to the bulk connections.
+ */
+public record PublishLanes(
+    int stripes, Set<String> priorityChannels, Set<Class<? extends Packet>> priorityTypes) {
+
+  public PublishLanes {
+    if (stripes < 1) {
+      throw new IllegalArgumentException("Stripes must be greater than zero.");
+    }
+    priorityChannels = Set.copyOf(priorityChannels);
+    priorityTypes = Set.copyOf(priorityTypes);
+  }
+
+  public static PublishLanes create(final int stripes) {
+    return new PublishLanes(stripes, Set.of(), Set.of());
+  }
+}
@@ -0,0 +1,106 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * A {@link PacketBrokerMetrics} recording every measurement in memory, exported on demand through
+ * {@link #snapshot()}.
+ *
+ * <p>Counters are {@link LongAdder}s and latencies are recorded in logarithmic histograms made of
+ * atomic counters, so recording never locks and, once the metrics of a channel exist, never
+ * allocates. Snapshots are not atomic across counters, each of them being read independently.
+ */
+public final class RecordingPacketBrokerMetrics implements PacketBrokerMetrics {
+
+  private final Map<String, ChannelMetrics> metricsByChannel;
+  private final LogHistogram encodeLatency;
+  private final LogHistogram decodeLatency;
+  private volatile IntSupplier outstandingRequests;
+
+  public RecordingPacketBrokerMetrics() {
+    this.metricsByChannel = new ConcurrentHashMap<>();
+    this.encodeLatency = new LogHistogram();
+    this.decodeLatency = new LogHistogram();
+    this.outstandingRequests = () -> 0;
+  }
+
+  @Override
+  public void packetPublished(final String channel, final int bytes) {
+    final ChannelMetrics metrics = metricsOf(channel);
+    metrics.publishedPackets.increment();
+    metrics.publishedBytes.add(bytes);
+  }
+
+  @Override
+  public void packetReceived(final String channel, final int bytes) {
+    final ChannelMetrics metrics = metricsOf(channel);
+    metrics.receivedPackets.increment();
+    metrics.receivedBytes.add(bytes);
+  }
+
+  @Override
+  public void packetEncoded(final long latencyNanos) {
+    encodeLatency.record(latencyNanos);
+  }
+
+  @Override
+  public void packetDecoded(final long latencyNanos) {
+    decodeLatency.record(latencyNanos);
+  }
+
+  @Override
+  public void requestCompleted(final String channel, final long roundTripNanos) {
+    metricsOf(channel).requestRoundTrip.record(roundTripNanos);
+  }
+
+  @Override
+  public void requestTimedOut(final String channel) {
+    metricsOf(channel).timedOutRequests.increment();
+  }
+
+  @Override
+  public void outstandingRequests(final IntSupplier outstandingRequests) {
+    this.outstandingRequests = outstandingRequests;
+  }
+
+  public PacketBrokerMetricsSnapshot snapshot() {
+    final Map<String, ChannelMetricsSnapshot> channels = new HashMap<>();
+    metricsByChannel.forEach((channel, metrics) -> channels.put(channel, metrics.snapshot()));
+    return new PacketBrokerMetricsSnapshot(
+        channels,
+        encodeLatency.snapshot(),
+        decodeLatency.snapshot(),
+        outstandingRequests.getAsInt());
+  }
+
+  private ChannelMetrics metricsOf(final String channel) {
+    final ChannelMetrics metrics = metricsByChannel.get(channel);
+    return metrics == null
+        ? metricsByChannel.computeIfAbsent(channel, key -> new ChannelMetrics())
+        : metrics;
+  }
+
+  private static final class ChannelMetrics {
+
+    private final LongAdder publishedPackets = new LongAdder();
+    private final LongAdder publishedBytes = new LongAdder();
+    private final LongAdder receivedPackets = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder timedOutRequests = new LongAdder();
+    private final LogHistogram requestRoundTrip = new LogHistogram();
+
+    private ChannelMetricsSnapshot snapshot() {
+      return new ChannelMetricsSnapshot(
+          publishedPackets.sum(),
+          publishedBytes.sum(),
+          receivedPackets.sum(),
+          receivedBytes.sum(),
+          timedOutRequests.sum(),
+          requestRoundTrip.snapshot());
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Decides where responses to requests issued by the {@link PacketBroker} are delivered.
+ *
+ * <p>- {@link #SHARED}: requests carry no reply channel, so responders publish every response on
+ * the shared {@code callbacks} channel, received by every node. - {@link #DIRECT}: requests carry a
+ * reply channel derived from the identity of the requester, so each node receives only responses
+ * to its own requests. - {@link #MIGRATING}: behaves like {@link #DIRECT}, but keeps reading the
+ * shared {@code callbacks} channel to receive responses from nodes not yet aware of reply channels,
+ * which is meant for rolling upgrades.
+ *
+ * <p>Responders always honour the reply channel of a request, regardless of their own routing.
+ */
+public enum ReplyRouting {
+  SHARED,
+  DIRECT,
+  MIGRATING
+}
@@ -0,0 +1,49 @@
+package io.mikeamiry.aegis.broker;
+
+import java.time.Duration;
+
+/**
+ * Describes the adaptive concurrency limit applied per channel to requests issued through the
+ * {@link PacketBroker}.
+ *
+ * <p>The limit of a channel starts at {@code initialLimit} and moves between {@code minLimit} and
+ * {@code maxLimit} by additive increase and multiplicative decrease: every response received within
+ * {@code latencyThreshold} raises it by one over the course of a full limit of responses, while
+ * every slower response or failed request multiplies it by {@code backoffRatio}. Requests above the
+ * limit wait in a queue of at most {@code maxQueued} requests per channel, and fail fast once it is
+ * full, which is the only behaviour when {@code maxQueued} is zero. Scatter-gather requests count
+ * against the limit without moving it, as their round trip time is bound to their deadline rather
+ * than to the latency of the channel.
+ */
+public record RequestConcurrency(
+    int initialLimit,
+    int minLimit,
+    int maxLimit,
+    Duration latencyThreshold,
+    double backoffRatio,
+    int maxQueued) {
+
+  public RequestConcurrency {
+    if (minLimit < 1 || minLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          "Minimum limit must be greater than zero and not exceed maximum limit.");
+    }
+    if (initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          "Initial limit must be between minimum and maximum limit.");
+    }
+    if (latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+      throw new IllegalArgumentException("Latency threshold must be a positive duration.");
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("Backoff ratio must be between zero and one, exclusive.");
+    }
+    if (maxQueued < 0) {
+      throw new IllegalArgumentException("Queued requests limit must not be negative.");
+    }
+  }
+
+  public static RequestConcurrency create(final Duration latencyThreshold) {
+    return new RequestConcurrency(20, 1, 1_000, latencyThreshold, 0.9, 0);
+  }
+}
@@ -0,0 +1,81 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides when and whether requests issued through the {@link PacketBroker} are hedged, as
+ * described by {@link RequestHedging}.
+ *
+ * <p>Round trip times are sampled per channel in a window of the {@value #WINDOW_SIZE} most recent
+ * responses, and the hedging delay of a channel is the configured percentile of its window, which
+ * is recomputed every {@value #REFRESH_INTERVAL} samples. Channels with less than {@value
+ * #MIN_SAMPLES} samples are never hedged. The hedge budget is a token bucket shared by every
+ * channel, earning a fraction of a token per request and spending a whole token per hedge.
+ */
+final class RequestHedger {
+
+  private static final int WINDOW_SIZE = 256;
+  private static final int REFRESH_INTERVAL = 16;
+  private static final int MIN_SAMPLES = 16;
+  private static final double MAX_TOKENS = 10;
+
+  private final RequestHedging hedging;
+  private final long minDelayNanos;
+  private final Map<String, RoundTripWindow> windowsByChannel;
+  private double tokens;
+
+  RequestHedger(final RequestHedging hedging) {
+    this.hedging = hedging;
+    this.minDelayNanos = hedging.minDelay().toNanos();
+    this.windowsByChannel = new ConcurrentHashMap<>();
+  }
+
+  long delayNanos(final String channel) {
+    final RoundTripWindow window = windowsByChannel.get(channel);
+    return window == null ? -1 : window.delayNanos();
+  }
+
+  void record(final String channel, final long roundTripNanos) {
+    windowsByChannel.computeIfAbsent(channel, key -> new RoundTripWindow()).record(roundTripNanos);
+  }
+
+  synchronized void earn() {
+    tokens = Math.min(MAX_TOKENS, tokens + hedging.budget());
+  }
+
+  synchronized boolean trySpend() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens--;
+    return true;
+  }
+
+  private final class RoundTripWindow {
+
+    private final long[] samples = new long[WINDOW_SIZE];
+    private int next;
+    private int count;
+    private int sinceRefresh;
+    private long delayNanos = -1;
+
+    private synchronized void record(final long roundTripNanos) {
+      samples[next] = roundTripNanos;
+      next = (next + 1) % WINDOW_SIZE;
+      count = Math.min(count + 1, WINDOW_SIZE);
+      if (++sinceRefresh >= REFRESH_INTERVAL && count >= MIN_SAMPLES) {
+        sinceRefresh = 0;
+        final long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        delayNanos =
+            Math.max(minDelayNanos, sorted[(int) (hedging.percentile() * (sorted.length - 1))]);
+      }
+    }
+
+    private synchronized long delayNanos() {
+      return delayNanos;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package io.mikeamiry.aegis.broker;
+
+import java.time.Duration;
+
+/**
+ * Describes the hedging of requests issued through the {@link PacketBroker}.
+ *
+ * <p>A request still awaiting its response once the {@code percentile} of the recent round trip
+ * times of its channel elapsed, and never sooner than {@code minDelay}, is published once more,
+ * completing with whichever response arrives first. Hedged requests are paid for by a budget
+ * earning {@code budget} of a hedge per request, so hedging adds at most that ratio of extra
+ * requests, even when every responder slows down at once.
+ *
+ * <p>The delay is counted from the moment the request was actually published, so a request queued
+ * by {@link RequestConcurrency} is never hedged while waiting for a slot. A hedge acquires a slot
+ * of its own, and is dropped rather than failing the request when no slot nor queue room is left.
+ *
+ * <p>Only requests on channels served by competing consumers are hedged, that is {@link
+ * WorkChannels} or every channel of a broker configured with {@link PacketStreams}, where the hedge
+ * may be handled by another, faster node. A request broadcast through Redis pub/sub already reached
+ * every responder, so hedging it would only duplicate their work.
+ */
+public record RequestHedging(double percentile, Duration minDelay, double budget) {
+
+  public RequestHedging {
+    if (percentile <= 0 || percentile >= 1) {
+      throw new IllegalArgumentException("Percentile must be between zero and one, exclusive.");
+    }
+    if (minDelay.isNegative()) {
+      throw new IllegalArgumentException("Minimum delay must not be negative.");
+    }
+    if (budget <= 0 || budget > 1) {
+      throw new IllegalArgumentException("Budget must be greater than zero and at most one.");
+    }
+  }
+
+  public static RequestHedging create() {
+    return new RequestHedging(0.95, Duration.ofMillis(5L), 0.1);
+  }
+}
@@ -0,0 +1,34 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.time.Duration.ofSeconds;
+
+import java.time.Duration;
+
+/**
+ * Describes the limits applied to requests issued through the {@link PacketBroker}.
+ *
+ * <p>{@code timeout} is used by requests issued without an explicit timeout, {@code maxOutstanding}
+ * caps the number of requests awaiting a response at the same time, and {@code rejectionPolicy}
+ * decides how requests above that cap are handled.
+ *
+ * <p>The timeout of a request also sets its absolute {@link Packet#deadline()}, so responders drop
+ * requests received once their requester gave up, before handing them to observers, and count them
+ * as expired. Deadlines are compared against the local clock, so nodes are expected to keep their
+ * clocks synchronized.
+ */
+public record RequestLimits(
+    Duration timeout, int maxOutstanding, RequestRejectionPolicy rejectionPolicy) {
+
+  public RequestLimits {
+    if (timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("Timeout must be a positive duration.");
+    }
+    if (maxOutstanding < 1) {
+      throw new IllegalArgumentException("Outstanding requests limit must be greater than zero.");
+    }
+  }
+
+  public static RequestLimits defaults() {
+    return new RequestLimits(ofSeconds(10L), 100_000, RequestRejectionPolicy.FAIL);
+  }
+}
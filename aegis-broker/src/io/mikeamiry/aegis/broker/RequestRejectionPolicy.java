@@ -0,0 +1,16 @@
+package io.mikeamiry.aegis.broker;
+
+/**
+ * Decides what happens to a request issued through the {@link PacketBroker} when the number of
+ * outstanding requests already reached {@link RequestLimits#maxOutstanding()}.
+ *
+ * <p>- {@link #ABORT}: the request is rejected by throwing a {@link PacketBrokerException} from the
+ * calling thread. - {@link #FAIL}: the request is rejected by returning a future completed
+ * exceptionally with a {@link PacketBrokerException}. - {@link #BLOCK}: the calling thread waits
+ * for a free slot for at most the timeout of the request, and fails the returned future afterward.
+ */
+public enum RequestRejectionPolicy {
+  ABORT,
+  FAIL,
+  BLOCK
+}
@@ -0,0 +1,63 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps the encoded responses published by the {@link PacketBroker}, keyed by the {@link
+ * Packet#requestId()} of the request they answer, as described by {@link ResponseCaching}.
+ *
+ * <p>Entries are held in a {@link ConcurrentHashMap}, so looking a request up never locks, while
+ * their ids are queued in insertion order, evicting the oldest entries once {@link
+ * ResponseCaching#maxEntries()} is exceeded. Expired entries are evicted as they are looked up.
+ * Responses are kept as published, header included, so they are republished byte for byte.
+ */
+final class ResponseCache {
+
+  private final long timeToLiveNanos;
+  private final int maxEntries;
+  private final Map<String, CachedResponse> responsesByRequestId;
+  private final Queue<String> requestIds;
+
+  ResponseCache(final ResponseCaching caching) {
+    this.timeToLiveNanos = caching.timeToLive().toNanos();
+    this.maxEntries = caching.maxEntries();
+    this.responsesByRequestId = new ConcurrentHashMap<>();
+    this.requestIds = new ConcurrentLinkedQueue<>();
+  }
+
+  void put(final String requestId, final String channel, final byte[] payload) {
+    final CachedResponse response =
+        new CachedResponse(channel, payload, System.nanoTime() + timeToLiveNanos);
+    if (responsesByRequestId.put(requestId, response) == null) {
+      requestIds.add(requestId);
+    }
+
+    while (responsesByRequestId.size() > maxEntries) {
+      final String evictedRequestId = requestIds.poll();
+      if (evictedRequestId == null) {
+        return;
+      }
+      responsesByRequestId.remove(evictedRequestId);
+    }
+  }
+
+  @Nullable
+  CachedResponse get(final String requestId) {
+    final CachedResponse response = responsesByRequestId.get(requestId);
+    if (response == null) {
+      return null;
+    }
+
+    if (response.expiresAtNanos() - System.nanoTime() < 0) {
+      responsesByRequestId.remove(requestId, response);
+      return null;
+    }
+    return response;
+  }
+
+  record CachedResponse(String channel, byte[] payload, long expiresAtNanos) {}
+}
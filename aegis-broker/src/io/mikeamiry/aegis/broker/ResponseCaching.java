@@ -0,0 +1,34 @@
+package io.mikeamiry.aegis.broker;
+
+import java.time.Duration;
+
+/**
+ * Describes the cache of responses kept by the {@link PacketBroker} on behalf of the requests it
+ * answered.
+ *
+ * <p>The encoded response to a request is kept for {@code timeToLive} after being published, and at
+ * most {@code maxEntries} responses are kept at once, evicting the oldest first. A request received
+ * again within that window, under the same {@link Packet#requestId()}, is answered with the cached
+ * response, without invoking observers nor encoding the response again. Only packets issued as
+ * requests carry a request id, so responses to any other packet, such as a broadcast answered by an
+ * observer, are never cached, and receiving them looks nothing up.
+ *
+ * <p>A response is cached once its observer returned it, so a retry received while the first
+ * attempt is still being handled is not recognized, and invokes observers once more. Caching spares
+ * observers the retries of requests already answered, it does not make them idempotent.
+ */
+public record ResponseCaching(int maxEntries, Duration timeToLive) {
+
+  public ResponseCaching {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Max entries must be greater than zero.");
+    }
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new IllegalArgumentException("Time to live must be a positive duration.");
+    }
+  }
+
+  public static ResponseCaching create(final Duration timeToLive) {
+    return new ResponseCaching(10_000, timeToLive);
+  }
+}
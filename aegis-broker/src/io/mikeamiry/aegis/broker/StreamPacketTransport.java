@@ -0,0 +1,216 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.util.logging.Level.WARNING;
+
+import io.lettuce.core.ClaimedMessages;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.XReadArgs.StreamOffset;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.RedisCodec;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * A {@link PacketTransport} built on Redis Streams and consumer groups, delivering every packet to
+ * exactly one node of the {@link PacketStreams#group()}, without losing packets while a node is
+ * slow or restarting.
+ *
+ * <p>Packets are appended with {@code XADD}, trimming each stream to approximately {@link
+ * PacketStreams#maxLength()} entries. A single daemon thread reads every subscribed stream with
+ * {@code XREADGROUP}, in batches of {@link PacketStreams#batchSize()} entries, on a dedicated
+ * connection as the read blocks for up to {@link PacketStreams#block()}. Each entry is acknowledged
+ * with {@code XACK} once its consumer returned without throwing, while entries whose consumer
+ * failed, as well as entries left pending by dead consumers, are reclaimed with {@code XAUTOCLAIM}
+ * once idle for longer than {@link PacketStreams#claimIdle()}, and handed to their consumer again.
+ *
+ * <p>The consumer of the {@link PacketBroker} returns once the packet is decoded and dispatched to
+ * the event bus, that is after the observers dispatched {@code INLINE} returned, but possibly
+ * before the observers dispatched on the executor of the event bus ran. Entries are therefore
+ * redelivered when decoding or an inline observer failed, or when the node died before dispatching
+ * them, while observers running on the executor, as well as stream subscribers, handle every entry
+ * at most once.
+ *
+ * <p>Streams subscribed while a read is blocked are picked up by the next read. Unsubscribed
+ * streams are no longer read, while the consumer group keeps their pending entries for the other
+ * consumers to claim.
+ */
+final class StreamPacketTransport implements PacketTransport {
+
+  private static final Logger log = Logger.getLogger(StreamPacketTransport.class.getName());
+  private static final String PAYLOAD_FIELD = "payload";
+  private static final String INITIAL_CURSOR = "0-0";
+
+  private final PacketStreams streams;
+  private final io.lettuce.core.Consumer<String> consumer;
+  private final StatefulRedisConnection<String, byte[]> connection;
+  private final StatefulRedisConnection<String, byte[]> readConnection;
+  private final Map<String, Consumer<byte[]>> consumersByStream;
+  private final Thread reader;
+  private volatile boolean running;
+  private long lastClaimNanos;
+
+  StreamPacketTransport(
+      final String identity,
+      final RedisClient redisClient,
+      final RedisCodec<String, byte[]> codec,
+      final PacketStreams streams) {
+    this.streams = streams;
+    this.consumer = io.lettuce.core.Consumer.from(streams.group(), identity);
+    this.connection = redisClient.connect(codec);
+    this.readConnection = redisClient.connect(codec);
+    this.consumersByStream = new ConcurrentHashMap<>();
+    this.running = true;
+    this.lastClaimNanos = System.nanoTime();
+    this.reader = new Thread(this::read, "aegis-stream-reader");
+    this.reader.setDaemon(true);
+    this.reader.start();
+  }
+
+  @Override
+  public void publish(final String channel, final byte[] payload, final PublishLane lane) {
+    connection.sync().xadd(channel, appendArgs(), Map.of(PAYLOAD_FIELD, payload));
+  }
+
+  @Override
+  public CompletableFuture<Long> publishAsync(
+      final String channel, final byte[] payload, final PublishLane lane) {
+    return connection
+        .async()
+        .xadd(channel, appendArgs(), Map.of(PAYLOAD_FIELD, payload))
+        .toCompletableFuture()
+        .thenApply(id -> 1L);
+  }
+
+  @Override
+  public boolean subscribe(final String channel, final Consumer<byte[]> consumer) {
+    if (consumersByStream.containsKey(channel)) {
+      return false;
+    }
+
+    try {
+      connection
+          .sync()
+          .xgroupCreate(
+              StreamOffset.latest(channel), streams.group(), XGroupCreateArgs.Builder.mkstream());
+    } catch (final RedisCommandExecutionException exception) {
+      if (!String.valueOf(exception.getMessage()).startsWith("BUSYGROUP")) {
+        throw exception;
+      }
+    }
+    return consumersByStream.putIfAbsent(channel, consumer) == null;
+  }
+
+  @Override
+  public void unsubscribe(final String channel) {
+    consumersByStream.remove(channel);
+  }
+
+  @Override
+  public boolean broadcasts() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    reader.interrupt();
+    connection.close();
+    readConnection.close();
+  }
+
+  private XAddArgs appendArgs() {
+    return XAddArgs.Builder.maxlen(streams.maxLength()).approximateTrimming();
+  }
+
+  private void read() {
+    while (running) {
+      try {
+        claimIfDue();
+
+        final StreamOffset<String>[] offsets = getStreamOffsets();
+        if (offsets.length == 0) {
+          LockSupport.parkNanos(streams.block().toNanos());
+          continue;
+        }
+
+        handle(
+            readConnection
+                .sync()
+                .xreadgroup(
+                    consumer,
+                    XReadArgs.Builder.count(streams.batchSize()).block(streams.block()),
+                    offsets));
+      } catch (final Exception exception) {
+        if (running) {
+          log.log(WARNING, "Could not read packets from streams.", exception);
+          LockSupport.parkNanos(streams.block().toNanos());
+        }
+      }
+    }
+  }
+
+  private void claimIfDue() {
+    final long now = System.nanoTime();
+    if (now - lastClaimNanos < streams.claimIdle().toNanos()) {
+      return;
+    }
+    lastClaimNanos = now;
+
+    for (final String stream : consumersByStream.keySet()) {
+      String cursor = INITIAL_CURSOR;
+      do {
+        final ClaimedMessages<String, byte[]> claimed =
+            readConnection
+                .sync()
+                .xautoclaim(
+                    stream,
+                    XAutoClaimArgs.Builder.xautoclaim(consumer, streams.claimIdle(), cursor)
+                        .count(streams.batchSize()));
+        handle(claimed.getMessages());
+        cursor = claimed.getId();
+      } while (running && !INITIAL_CURSOR.equals(cursor));
+    }
+  }
+
+  private void handle(final List<StreamMessage<String, byte[]>> messages) {
+    if (messages == null) {
+      return;
+    }
+
+    for (final StreamMessage<String, byte[]> message : messages) {
+      try {
+        final Consumer<byte[]> streamConsumer = consumersByStream.get(message.getStream());
+        final Map<String, byte[]> body = message.getBody();
+        final byte[] payload = body == null ? null : body.get(PAYLOAD_FIELD);
+        if (streamConsumer != null && payload != null) {
+          streamConsumer.accept(payload);
+        }
+        connection.async().xack(message.getStream(), streams.group(), message.getId());
+      } catch (final Exception exception) {
+        log.log(
+            WARNING,
+            "Could not handle packet %s from stream %s, leaving it pending for redelivery."
+                .formatted(message.getId(), message.getStream()),
+            exception);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private StreamOffset<String>[] getStreamOffsets() {
+    return consumersByStream.keySet().stream()
+        .map(StreamOffset::lastConsumed)
+        .toArray(StreamOffset[]::new);
+  }
+}
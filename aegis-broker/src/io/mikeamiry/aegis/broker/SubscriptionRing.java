@@ -0,0 +1,92 @@
+package io.mikeamiry.aegis.broker;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns subscribed topics to one of several pub/sub connections by consistent hashing with
+ * bounded loads.
+ *
+ * <p>Every connection is placed on a hash ring at {@value #VIRTUAL_NODES} points. A topic is
+ * assigned to the first connection found clockwise from its own hash whose load is below the bound,
+ * {@value #LOAD_FACTOR} times the average load including the topic being assigned. The bound grows
+ * as topics are added, so while topics are only added, every connection stays within the bound of
+ * the average regardless of how the topic names hash.
+ *
+ * <p>Topics keep their connection for as long as they stay subscribed, and are never migrated, as
+ * moving a topic between pub/sub connections either loses or duplicates the messages published
+ * during the move. Releasing topics may therefore leave a connection above the bound of the now
+ * lower average, until its own topics are released or new topics are assigned elsewhere.
+ */
+final class SubscriptionRing {
+
+  private static final int VIRTUAL_NODES = 64;
+  private static final double LOAD_FACTOR = 1.25;
+
+  private final long[] points;
+  private final int[] owners;
+  private final int[] loads;
+  private final Map<String, Integer> assignments;
+
+  SubscriptionRing(final int connections) {
+    final long[][] ring = new long[connections * VIRTUAL_NODES][];
+    for (int connection = 0; connection < connections; connection++) {
+      for (int node = 0; node < VIRTUAL_NODES; node++) {
+        ring[connection * VIRTUAL_NODES + node] =
+            new long[] {hash(connection + "#" + node), connection};
+      }
+    }
+    Arrays.sort(ring, (left, right) -> Long.compare(left[0], right[0]));
+
+    this.points = new long[ring.length];
+    this.owners = new int[ring.length];
+    for (int index = 0; index < ring.length; index++) {
+      points[index] = ring[index][0];
+      owners[index] = (int) ring[index][1];
+    }
+    this.loads = new int[connections];
+    this.assignments = new HashMap<>();
+  }
+
+  synchronized int assign(final String topic) {
+    final Integer assigned = assignments.get(topic);
+    if (assigned != null) {
+      return assigned;
+    }
+
+    final int capacity = (int) Math.ceil(LOAD_FACTOR * (assignments.size() + 1) / loads.length);
+    final int found = Arrays.binarySearch(points, hash(topic));
+    final int start = found < 0 ? -found - 1 : found;
+    for (int step = 0; step < points.length; step++) {
+      final int connection = owners[(start + step) % points.length];
+      if (loads[connection] < capacity) {
+        loads[connection]++;
+        assignments.put(topic, connection);
+        return connection;
+      }
+    }
+    throw new IllegalStateException("Could not assign topic %s to a connection.".formatted(topic));
+  }
+
+  synchronized void release(final String topic) {
+    final Integer assigned = assignments.remove(topic);
+    if (assigned != null) {
+      loads[assigned]--;
+    }
+  }
+
+  private static long hash(final String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (final byte character : value.getBytes(UTF_8)) {
+      hash ^= character;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
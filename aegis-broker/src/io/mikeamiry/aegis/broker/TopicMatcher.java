@@ -0,0 +1,112 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable trie of glob topic patterns, resolving every pattern matching a channel name in a
+ * single pass over that name.
+ *
+ * <p>Patterns follow the subset of the Redis glob syntax used by observer topics: {@code *} matches
+ * any sequence of characters, including an empty one, {@code ?} matches exactly one character, and
+ * every other character matches itself. Patterns sharing a prefix share the nodes of that prefix,
+ * so the cost of matching depends on the length of the channel name and on the number of patterns
+ * alive at each of its characters, not on the total number of patterns.
+ */
+final class TopicMatcher {
+
+  private static final char ANY_SEQUENCE = '*';
+  private static final char ANY_CHARACTER = '?';
+  private static final String[] NO_MATCHES = new String[0];
+  private static final TopicMatcher EMPTY = new TopicMatcher(new Node());
+
+  private final Node root;
+
+  private TopicMatcher(final Node root) {
+    this.root = root;
+  }
+
+  static TopicMatcher empty() {
+    return EMPTY;
+  }
+
+  static TopicMatcher compile(final Collection<String> patterns) {
+    final Node root = new Node();
+    for (final String pattern : patterns) {
+      Node node = root;
+      for (int index = 0; index < pattern.length(); index++) {
+        final char character = pattern.charAt(index);
+        if (character == ANY_SEQUENCE) {
+          if (node.anySequence == null) {
+            node.anySequence = new Node();
+            node.anySequence.repeating = true;
+          }
+          node = node.anySequence;
+        } else if (character == ANY_CHARACTER) {
+          node = node.anyCharacter == null ? (node.anyCharacter = new Node()) : node.anyCharacter;
+        } else {
+          node = node.children.computeIfAbsent(character, key -> new Node());
+        }
+      }
+      node.pattern = pattern;
+    }
+    return new TopicMatcher(root);
+  }
+
+  static boolean isPattern(final String topic) {
+    return topic.indexOf(ANY_SEQUENCE) >= 0 || topic.indexOf(ANY_CHARACTER) >= 0;
+  }
+
+  String[] match(final String channel) {
+    List<Node> active = new ArrayList<>();
+    enter(active, root);
+    for (int index = 0; index < channel.length() && !active.isEmpty(); index++) {
+      final char character = channel.charAt(index);
+      final List<Node> next = new ArrayList<>(active.size());
+      for (final Node node : active) {
+        final Node child = node.children.get(character);
+        if (child != null) {
+          enter(next, child);
+        }
+        if (node.anyCharacter != null) {
+          enter(next, node.anyCharacter);
+        }
+        if (node.repeating) {
+          enter(next, node);
+        }
+      }
+      active = next;
+    }
+
+    final LinkedHashSet<String> matches = new LinkedHashSet<>();
+    for (final Node node : active) {
+      if (node.pattern != null) {
+        matches.add(node.pattern);
+      }
+    }
+    return matches.isEmpty() ? NO_MATCHES : matches.toArray(String[]::new);
+  }
+
+  private static void enter(final List<Node> nodes, final Node node) {
+    if (nodes.contains(node)) {
+      return;
+    }
+    nodes.add(node);
+    if (node.anySequence != null) {
+      enter(nodes, node.anySequence);
+    }
+  }
+
+  private static final class Node {
+
+    private final Map<Character, Node> children = new HashMap<>();
+    private Node anySequence;
+    private Node anyCharacter;
+    private boolean repeating;
+    private String pattern;
+  }
+}
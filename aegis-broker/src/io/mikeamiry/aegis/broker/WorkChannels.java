@@ -0,0 +1,24 @@
+package io.mikeamiry.aegis.broker;
+
+import java.util.Set;
+
+/**
+ * Describes the channels on which the {@link PacketBroker} distributes packets across competing
+ * consumers instead of broadcasting them.
+ *
+ * <p>Packets published or requested on one of {@code channels} are appended to a Redis stream read
+ * by the consumer group described by {@code streams}, so each of them is handled by exactly one
+ * node observing that channel, while responses keep being delivered through the regular reply flow.
+ * Every node observing a work channel should observe every packet type sent on it, as a packet
+ * claimed by a node without a matching observer is acknowledged and dropped.
+ */
+public record WorkChannels(Set<String> channels, PacketStreams streams) {
+
+  public WorkChannels {
+    channels = Set.copyOf(channels);
+  }
+
+  public static WorkChannels create(final String... channels) {
+    return new WorkChannels(Set.of(channels), PacketStreams.create("aegis-work"));
+  }
+}
@@ -1,5 +1,7 @@
 package io.makeamiry.aegis.codec;
 
+import java.util.Arrays;
+
 public interface Codec {
 
   <T> String encode(final T instance) throws EncodingException;
@@ -18,4 +20,12 @@ public interface Codec {
       throws DecodingException {
     return decodeFromBytes(payload);
   }
+
+  default <T> T decodeFromBytes(final byte[] payload, final int offset, final int length)
+      throws DecodingException {
+    if (offset == 0 && length == payload.length) {
+      return decodeFromBytes(payload);
+    }
+    return decodeFromBytes(Arrays.copyOfRange(payload, offset, offset + length));
+  }
 }
@@ -9,6 +9,7 @@ import io.makeamiry.aegis.codec.EncodingException;
 import java.util.Base64;
 import org.apache.fury.Fury;
 import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.memory.MemoryBuffer;
 
 public final class FuryCodec implements Codec {
 
@@ -64,4 +65,17 @@ public final class FuryCodec implements Codec {
           exception);
     }
   }
+
+  @Override
+  public <T> T decodeFromBytes(final byte[] payload, final int offset, final int length)
+      throws DecodingException {
+    try {
+      // noinspection unchecked
+      return (T) fury.deserialize(MemoryBuffer.fromByteArray(payload, offset, length));
+    } catch (final Exception exception) {
+      throw new DecodingException(
+          "Could not deserialize binary payload into instance, because of unexpected exception.",
+          exception);
+    }
+  }
 }
@@ -128,4 +128,17 @@ public final class JacksonCodec implements Codec {
           exception);
     }
   }
+
+  @Override
+  public <T> T decodeFromBytes(final byte[] payload, final int offset, final int length)
+      throws DecodingException {
+    try {
+      // noinspection unchecked
+      return (T) objectMapper.readValue(payload, offset, length, Object.class);
+    } catch (final Exception exception) {
+      throw new DecodingException(
+          "Could not decode binary payload into instance, because of unexpected exception.",
+          exception);
+    }
+  }
 }
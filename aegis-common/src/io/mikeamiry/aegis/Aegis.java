@@ -8,7 +8,10 @@ import io.mikeamiry.aegis.lock.DistributedLock;
 import io.mikeamiry.aegis.store.HashMapStore;
 import io.mikeamiry.aegis.store.KeyValueStore;
 import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 /**
  * Aegis is a sealed interface representing a comprehensive system for managing packet
@@ -43,12 +46,28 @@ import java.util.concurrent.CompletableFuture;
  * request)}: Sends a request packet to a specified channel and returns a future that resolves with
  * the response.
  *
+ * <p>- {@code <T extends Packet> CompletableFuture<T> request(String channel, Packet request,
+ * Duration timeout)}: Sends a request packet and returns a future that resolves with the response,
+ * or fails once the timeout elapses.
+ *
+ * <p>- {@code <T extends Packet> CompletableFuture<List<T>> requestAll(String channel, Packet
+ * request, int expectedCount, Duration deadline)}: Sends a request packet to every observing node
+ * and returns a future that resolves with the responses, once the expected count of responses
+ * arrived or once the deadline elapses.
+ *
  * <p>- {@code void observe(Observer observer) throws PacketBrokerException}: Subscribes an observer
  * to listen to events or packets, throwing {@link PacketBrokerException} on failure.
  *
+ * <p>- {@code <T extends Packet> Flow.Publisher<T> subscribe(String channel, Class<T> type)}:
+ * Streams the packets of a type received on a channel to subscribers signalling their demand.
+ *
  * <p>- {@code void publish(String channel, Packet packet) throws PacketBrokerException}: Publishes
  * a packet to a channel, with potential {@link PacketBrokerException} for publishing errors.
  *
+ * <p>- {@code CompletableFuture<Long> publishAsync(String channel, Packet packet)}: Publishes a
+ * packet to a channel without blocking, returning a future that resolves with the number of
+ * receivers.
+ *
  * <p>- {@code KeyValueStore kv()}: Provides access to a key-value store implementation.
  *
  * <p>- {@code HashMapStore map(String name)}: Provides access to a hash map storage interface
@@ -68,10 +87,22 @@ public sealed interface Aegis extends Closeable permits AegisClient {
 
   <T extends Packet> CompletableFuture<T> request(String channel, Packet request);
 
+  <T extends Packet> CompletableFuture<T> request(String channel, Packet request, Duration timeout)
+      throws PacketBrokerException;
+
+  <T extends Packet> CompletableFuture<List<T>> requestAll(
+      String channel, Packet request, int expectedCount, Duration deadline)
+      throws PacketBrokerException;
+
   void observe(Observer observer) throws PacketBrokerException;
 
+  <T extends Packet> Flow.Publisher<T> subscribe(String channel, Class<T> type)
+      throws PacketBrokerException;
+
   void publish(String channel, Packet packet) throws PacketBrokerException;
 
+  CompletableFuture<Long> publishAsync(String channel, Packet packet);
+
   KeyValueStore kv();
 
   HashMapStore map(final String name);
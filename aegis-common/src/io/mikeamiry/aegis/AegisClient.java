@@ -11,7 +11,10 @@ import io.mikeamiry.aegis.lock.DistributedLock;
 import io.mikeamiry.aegis.store.HashMapStore;
 import io.mikeamiry.aegis.store.KeyValueStore;
 import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 /**
  * AegisClient is a final implementation of the {@link Aegis} interface, providing a comprehensive
@@ -38,9 +41,16 @@ import java.util.concurrent.CompletableFuture;
  * <p>- {@code <T extends Packet> CompletableFuture<T> request(String channel, Packet request)}:
  * Sends a request packet and asynchronously retrieves the response.
  *
+ * <p>- {@code <T extends Packet> CompletableFuture<List<T>> requestAll(String channel, Packet
+ * request, int expectedCount, Duration deadline)}: Sends a request packet and asynchronously
+ * gathers the responses of several nodes.
+ *
  * <p>- {@code void observe(Observer observer) throws PacketBrokerException}: Registers an observer
  * for event or packet subscriptions.
  *
+ * <p>- {@code <T extends Packet> Flow.Publisher<T> subscribe(String channel, Class<T> type)}:
+ * Streams the packets of a type received on a channel with demand-driven backpressure.
+ *
  * <p>- {@code void publish(String channel, Packet packet) throws PacketBrokerException}: Publishes
  * a packet to a channel.
  *
@@ -90,16 +100,41 @@ final class AegisClient implements Closeable, Aegis {
     return packetBroker.request(channel, request);
   }
 
+  @Override
+  public <T extends Packet> CompletableFuture<T> request(
+      final String channel, final Packet request, final Duration timeout)
+      throws PacketBrokerException {
+    return packetBroker.request(channel, request, timeout);
+  }
+
+  @Override
+  public <T extends Packet> CompletableFuture<List<T>> requestAll(
+      final String channel, final Packet request, final int expectedCount, final Duration deadline)
+      throws PacketBrokerException {
+    return packetBroker.requestAll(channel, request, expectedCount, deadline);
+  }
+
   @Override
   public void observe(final Observer observer) throws PacketBrokerException {
     packetBroker.observe(observer);
   }
 
+  @Override
+  public <T extends Packet> Flow.Publisher<T> subscribe(final String channel, final Class<T> type)
+      throws PacketBrokerException {
+    return packetBroker.subscribe(channel, type);
+  }
+
   @Override
   public void publish(final String channel, final Packet packet) throws PacketBrokerException {
     packetBroker.publish(channel, packet);
   }
 
+  @Override
+  public CompletableFuture<Long> publishAsync(final String channel, final Packet packet) {
+    return packetBroker.publishAsync(channel, packet);
+  }
+
   @Override
   public KeyValueStore kv() {
     return keyValueStore;
@@ -128,6 +163,7 @@ final class AegisClient implements Closeable, Aegis {
   @Override
   public void close() {
     try {
+      packetBroker.close();
       connection.close();
       pubSubConnection.close();
       redisClient.shutdown();
@@ -2,6 +2,18 @@ plugins {
     `aegis-java`
     `aegis-publish`
     `aegis-repositories`
+    alias(libs.plugins.jmh)
+}
+
+sourceSets {
+    named("jmh") {
+        java.setSrcDirs(listOf("jmh"))
+        resources.setSrcDirs(emptyList<String>())
+    }
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
 }
 
 aegisPublish {
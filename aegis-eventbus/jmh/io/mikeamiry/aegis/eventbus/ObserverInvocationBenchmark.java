@@ -0,0 +1,157 @@
+package io.mikeamiry.aegis.eventbus;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the invocation of methods annotated with {@link Observe} through a {@link MethodHandle}
+ * held in a non-constant field, as done before observers got generated invokers, with their
+ * invocation through the {@link ObserverCall} chain of the {@link ObserverDispatcher} generated
+ * for their event type, and measures the whole {@link EventBus#publish(Event, String...)} path on
+ * top of {@link DispatchStrategy#INLINE} dispatch.
+ *
+ * <p>Each path is measured once with a single observer class, and once with {@value
+ * #OBSERVER_TYPES} observer classes, invoked in turn from the same call site through method
+ * handles, as the event bus did before, and through a chain of {@value #OBSERVER_TYPES} links
+ * otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ObserverInvocationBenchmark {
+
+  private static final int OBSERVER_TYPES = 4;
+
+  private SampleEvent event;
+  private Observer[] observers;
+  private MethodHandle[] methodHandles;
+  private ResultProcessorService resultProcessorService;
+  private ObserverCall singleObserverCall;
+  private ObserverCall multipleObserversCall;
+  private EventBus singleObserverBus;
+  private EventBus multipleObserversBus;
+
+  @Setup
+  public void setup() throws Exception {
+    event = new SampleEvent(42);
+    observers =
+        new Observer[] {
+          new FirstObserver(), new SecondObserver(), new ThirdObserver(), new FourthObserver()
+        };
+
+    final ObservationService singleObserverService =
+        new ObservationService(DispatchStrategy.INLINE);
+    singleObserverService.observe(observers[0]);
+    final ObservationService multipleObserversService =
+        new ObservationService(DispatchStrategy.INLINE);
+    methodHandles = new MethodHandle[OBSERVER_TYPES];
+    for (int index = 0; index < OBSERVER_TYPES; index++) {
+      methodHandles[index] =
+          lookup()
+              .unreflect(observers[index].getClass().getMethod("onEvent", SampleEvent.class));
+      multipleObserversService.observe(observers[index]);
+    }
+
+    resultProcessorService = new ResultProcessorService();
+    singleObserverCall = singleObserverService.getDispatcherByEventType(SampleEvent.class).inline();
+    multipleObserversCall =
+        multipleObserversService.getDispatcherByEventType(SampleEvent.class).inline();
+
+    singleObserverBus = EventBusFactory.create(Runnable::run, DispatchStrategy.INLINE);
+    singleObserverBus.observe(observers[0]);
+    multipleObserversBus = EventBusFactory.create(Runnable::run, DispatchStrategy.INLINE);
+    for (final Observer observer : observers) {
+      multipleObserversBus.observe(observer);
+    }
+  }
+
+  @Benchmark
+  public Object methodHandle() throws Throwable {
+    return methodHandles[0].invoke(observers[0], event);
+  }
+
+  @Benchmark
+  public Object generatedCall() {
+    return singleObserverCall.dispatch(event, resultProcessorService, null);
+  }
+
+  @Benchmark
+  public void methodHandleOfSeveralTypes(final Blackhole blackhole) throws Throwable {
+    for (int index = 0; index < OBSERVER_TYPES; index++) {
+      blackhole.consume(methodHandles[index].invoke(observers[index], event));
+    }
+  }
+
+  @Benchmark
+  public Object generatedCallOfSeveralTypes() {
+    return multipleObserversCall.dispatch(event, resultProcessorService, null);
+  }
+
+  @Benchmark
+  public void publish() {
+    singleObserverBus.publish(event);
+  }
+
+  @Benchmark
+  public void publishToSeveralTypes() {
+    multipleObserversBus.publish(event);
+  }
+
+  public record SampleEvent(int value) implements Event {}
+
+  public static final class FirstObserver implements Observer {
+
+    private long received;
+
+    @Observe
+    public void onEvent(final SampleEvent event) {
+      received += event.value();
+    }
+  }
+
+  public static final class SecondObserver implements Observer {
+
+    private long received;
+
+    @Observe
+    public void onEvent(final SampleEvent event) {
+      received += event.value();
+    }
+  }
+
+  public static final class ThirdObserver implements Observer {
+
+    private long received;
+
+    @Observe
+    public void onEvent(final SampleEvent event) {
+      received += event.value();
+    }
+  }
+
+  public static final class FourthObserver implements Observer {
+
+    private long received;
+
+    @Observe
+    public void onEvent(final SampleEvent event) {
+      received += event.value();
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package io.mikeamiry.aegis.eventbus;
+
+/**
+ * Decides how the methods annotated with {@link Observe} are dispatched when an event they observe
+ * is published through the {@link EventBus}.
+ *
+ * <p>- {@link #INLINE}: the method is invoked on the publishing thread, before {@link
+ * EventBus#publish(Event, String...)} returns, which suits cheap methods that would spend more time
+ * being handed off than running. - {@link #PER_EVENT}: every such method observing the event is
+ * invoked by a single task submitted to the executor of the {@link EventBus}, one after another. -
+ * {@link #PER_INVOCATION}: each method is invoked by its own task submitted to the executor, which
+ * lets slow methods run concurrently with each other. - {@link #DEFAULT}: the method is dispatched
+ * with the strategy the {@link EventBus} was created with, which is {@link #PER_INVOCATION} unless
+ * specified otherwise through {@link EventBusFactory}.
+ */
+public enum DispatchStrategy {
+  INLINE,
+  PER_EVENT,
+  PER_INVOCATION,
+  DEFAULT
+}
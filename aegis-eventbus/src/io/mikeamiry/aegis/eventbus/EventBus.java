@@ -5,6 +5,9 @@ package io.mikeamiry.aegis.eventbus;
  * different parts of an application. It supports observation of events, event publishing, and
  * result processing.
  *
+ * <p>Its observation version grows every time an observer is registered, so callers caching whether
+ * an event type is observed can tell when their answers may have become stale.
+ *
  * <p>This interface is a sealed type that can only be implemented by specific permitted classes.
  */
 public sealed interface EventBus permits EventBusImpl {
@@ -13,5 +16,9 @@ public sealed interface EventBus permits EventBusImpl {
 
   void publish(Event event, String... targets) throws EventPublishingException;
 
+  boolean isObserved(Class<? extends Event> eventType, String topic);
+
+  long observationVersion();
+
   <E extends Event, T> void register(Class<T> resultType, ResultProcessor<E, T> resultProcessor);
 }
@@ -6,9 +6,10 @@ import java.util.concurrent.Executor;
  * A factory class for creating instances of {@link EventBus}.
  *
  * <p>This class provides a convenient method to instantiate the {@link EventBus} with its default
- * implementation {@link EventBusImpl}. The default implementation utilizes a combination of {@link
- * ObservationService} for handling event observers and {@link ResultProcessorService} for managing
- * result processing of events.
+ * implementation {@link EventBusImpl}, dispatching observer methods with the given {@link
+ * DispatchStrategy}, or with {@link DispatchStrategy#PER_INVOCATION} when none is given. The
+ * default implementation utilizes a combination of {@link ObservationService} for handling event
+ * observers and {@link ResultProcessorService} for managing result processing of events.
  *
  * <p>This factory ensures the encapsulation of the underlying details of the {@link EventBus}
  * implementation, providing a simplified and consistent way to create instances of the event bus.
@@ -21,6 +22,16 @@ public final class EventBusFactory {
   private EventBusFactory() {}
 
   public static EventBus create(final Executor executor) {
-    return new EventBusImpl(executor, new ObservationService(), new ResultProcessorService());
+    return create(executor, DispatchStrategy.PER_INVOCATION);
+  }
+
+  public static EventBus create(final Executor executor, final DispatchStrategy dispatchStrategy) {
+    return new EventBusImpl(
+        executor,
+        new ObservationService(
+            dispatchStrategy == DispatchStrategy.DEFAULT
+                ? DispatchStrategy.PER_INVOCATION
+                : dispatchStrategy),
+        new ResultProcessorService());
   }
 }
@@ -1,8 +1,5 @@
 package io.mikeamiry.aegis.eventbus;
 
-import static java.util.Arrays.stream;
-
-import java.lang.invoke.MethodHandle;
 import java.util.concurrent.Executor;
 
 /**
@@ -15,8 +12,14 @@ import java.util.concurrent.Executor;
  *
  * <p>This implementation ensures that: - Observers can subscribe to specific events and subsequent
  * calls to their annotated methods are handled seamlessly. - Published events are propagated to
- * matching observers based on the event type and optional topic criteria. - Results returned by
- * observer methods can be processed by registered result processors.
+ * matching observers based on the event type, or any of its supertypes, and optional topic
+ * criteria, looking up only the observers of the targeted topics. - Observer methods are dispatched
+ * according to their {@link DispatchStrategy}, through the chains of their {@link
+ * ObserverDispatcher}: invoked on the publishing thread, batched into a single executor task per
+ * published event, or submitted to the executor one by one. A failure of a method invoked on the
+ * publishing thread is rethrown once every other method was dispatched, and a failure within a
+ * batched task does not prevent the rest of the batch from running. - Results
+ * returned by observer methods can be processed by registered result processors.
  *
  * <p>This class is intended to be used internally within the event-driven architecture and should
  * not be extended or modified externally.
@@ -46,9 +49,28 @@ final class EventBusImpl implements EventBus {
 
   @Override
   public void publish(final Event event, final String... topics) throws EventPublishingException {
-    observationService
-        .getObservationsByEventType(event.getClass())
-        .forEach(definition -> notifySubscription(definition, event, topics));
+    if (!hasSpecifiedTopic(topics)) {
+      notifySubscriptions(observationService.getDispatcherByEventType(event.getClass()), event);
+      return;
+    }
+
+    for (int index = 0; index < topics.length; index++) {
+      if (!isRepeatedTopic(topics, index)) {
+        notifySubscriptions(
+            observationService.getDispatcherByEventTypeAndTopic(event.getClass(), topics[index]),
+            event);
+      }
+    }
+  }
+
+  @Override
+  public boolean isObserved(final Class<? extends Event> eventType, final String topic) {
+    return !observationService.getDispatcherByEventTypeAndTopic(eventType, topic).isEmpty();
+  }
+
+  @Override
+  public long observationVersion() {
+    return observationService.getObservationVersion();
   }
 
   @Override
@@ -57,31 +79,30 @@ final class EventBusImpl implements EventBus {
     resultProcessorService.register(resultType, resultProcessor);
   }
 
-  private void notifySubscription(
-      final ObserverDefinition definition, final Event event, final String[] topics)
+  private void notifySubscriptions(final ObserverDispatcher dispatcher, final Event event)
       throws EventPublishingException {
-    final Observer observer = definition.observer();
-    if (hasSpecifiedTopic(topics) && isExcludedSubscription(observer, topics)) {
-      return;
+    final ObserverCall inline = dispatcher.inline();
+    final EventPublishingException failure =
+        inline == null ? null : inline.dispatch(event, resultProcessorService, null);
+    for (final ObserverCall call : dispatcher.perInvocation()) {
+      executor.execute(() -> notifyObservedMethods(call, event));
     }
 
-    for (final MethodHandle invocation : definition.invocations()) {
-      executor.execute(() -> notifyObservedMethods(invocation, observer, event));
+    final ObserverCall perEvent = dispatcher.perEvent();
+    if (perEvent != null) {
+      executor.execute(() -> notifyObservedMethods(perEvent, event));
+    }
+
+    if (failure != null) {
+      throw failure;
     }
   }
 
-  private void notifyObservedMethods(
-      final MethodHandle invocation, final Observer observer, final Event event)
+  private void notifyObservedMethods(final ObserverCall call, final Event event)
       throws EventPublishingException {
-    try {
-      final Object returnedValue = invocation.invoke(observer, event);
-      if (returnedValue != null && resultProcessorService.isProcessingRequired()) {
-        resultProcessorService.tryProcessing(event, returnedValue);
-      }
-    } catch (final Throwable throwable) {
-      throw new EventPublishingException(
-          "Could not publish event, because of unexpected throwable during method invocation.",
-          throwable);
+    final EventPublishingException failure = call.dispatch(event, resultProcessorService, null);
+    if (failure != null) {
+      throw failure;
     }
   }
 
@@ -89,7 +110,12 @@ final class EventBusImpl implements EventBus {
     return topics.length > 0;
   }
 
-  private boolean isExcludedSubscription(final Observer observer, final String[] topics) {
-    return stream(topics).noneMatch(topic -> observer.topic().equals(topic));
+  private boolean isRepeatedTopic(final String[] topics, final int index) {
+    for (int previous = 0; previous < index; previous++) {
+      if (topics[previous].equals(topics[index])) {
+        return true;
+      }
+    }
+    return false;
   }
 }
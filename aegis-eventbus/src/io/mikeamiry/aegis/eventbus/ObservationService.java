@@ -2,20 +2,21 @@ package io.mikeamiry.aegis.eventbus;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.lang.invoke.MethodHandles.privateLookupIn;
+import static java.lang.invoke.MethodType.methodType;
 import static java.lang.reflect.Modifier.isPublic;
 import static java.util.Arrays.stream;
-import static java.util.Collections.emptySet;
-import static java.util.Collections.unmodifiableSet;
 import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toList;
 
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * The ObservationService class manages the registration and mapping of observer methods to their
@@ -27,15 +28,26 @@ import java.util.Set;
  * grouped by event types. - Provides access to observer definitions by event type for
  * event-publishing mechanisms.
  *
+ * <p>Observer methods receive every event assignable to their parameter type, so an observer of
+ * {@code Event} or of an interface receives events of any implementing class. Registered observers
+ * are held in an immutable {@link ObserverRegistry}, replaced atomically whenever an observer is
+ * registered, so publishing an event is a single lookup in its dispatch table, without locking nor
+ * allocating, even while observers are being registered concurrently.
+ *
  * <p>Observers are required to comply with the following constraints for their methods to be
  * eligible: - Methods must have the {@code @Observe} annotation. - Methods must declare exactly one
  * parameter, which must be assignable from the {@code Event} type.
  *
- * <p>Objects of this class are immutable once created and are not designed for inheritance or
- * modification.
+ * <p>Registrations are serialized with each other, while lookups never wait for them. This class is
+ * not designed for inheritance or modification.
  *
- * <p>This class relies on: - Java's {@link MethodHandle} for efficient method invocation. - {@code
- * java.util.Map} and {@code java.util.Set} to store and organize registered observers.
+ * <p>This class relies on: - {@link LambdaMetafactory}, generating once per observed method a class
+ * which calls it directly, as a {@link BiConsumer} or a {@link BiFunction} held by its {@link
+ * ObserverInvocation}, or an exactly typed {@link MethodHandle} for observers whose lookup lacks
+ * the full privilege access it requires, paired with the {@link DispatchStrategy} of their {@link
+ * Observe} annotation, or the one of the event bus when left to default. - {@link ObserverRegistry}
+ * snapshots to store and organize registered observers, and to hold the {@link ObserverDispatcher}
+ * calling them.
  *
  * <p>Exceptions: - Throws {@code ObservingException} when method resolution or registration fails
  * due to accessibility issues or invalid observer definitions.
@@ -43,43 +55,144 @@ import java.util.Set;
 final class ObservationService {
 
   private static final MethodHandles.Lookup LOOKUP = lookup();
-  private final Map<Class<? extends Event>, Set<ObserverDefinition>> observationsByEventType;
+  private static final MethodType FUNCTION_TYPE =
+      methodType(Object.class, Object.class, Object.class);
+  private static final MethodType CONSUMER_TYPE =
+      methodType(void.class, Object.class, Object.class);
+  private final DispatchStrategy dispatchStrategy;
+  private volatile ObserverRegistry registry;
 
-  ObservationService() {
-    this.observationsByEventType = new HashMap<>();
+  ObservationService(final DispatchStrategy dispatchStrategy) {
+    this.dispatchStrategy = dispatchStrategy;
+    this.registry = ObserverRegistry.EMPTY;
   }
 
-  private static MethodHandle getMethodHandle(final Class<?> type, final Method method) {
+  private static ObserverInvocation createInvocation(
+      final Class<?> type, final Method method, final DispatchStrategy dispatchStrategy) {
+    final MethodHandles.Lookup lookup;
+    final MethodHandle handle;
     try {
-      return getLookupForClass(type).unreflect(method);
+      lookup = getLookupForClass(type);
+      handle = lookup.unreflect(method);
     } catch (final IllegalAccessException exception) {
       throw new ObservingException(
           "Could not resolve method handle for %s method, because of illegal access."
               .formatted(method.getName()),
           exception);
     }
+
+    try {
+      if (!lookup.hasFullPrivilegeAccess()) {
+        return new ObserverInvocation(null, adapt(handle), dispatchStrategy);
+      }
+      if (handle.type().returnType() == void.class) {
+        return new ObserverInvocation(generateConsumer(lookup, handle), null, dispatchStrategy);
+      }
+      return new ObserverInvocation(null, generateFunction(lookup, handle), dispatchStrategy);
+    } catch (final Throwable throwable) {
+      throw new ObservingException(
+          "Could not generate invoker for %s method, because of unexpected throwable."
+              .formatted(method.getName()),
+          throwable);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> generateConsumer(
+      final MethodHandles.Lookup lookup, final MethodHandle handle) throws Throwable {
+    return (BiConsumer<Object, Object>)
+        LambdaMetafactory.metafactory(
+                lookup,
+                "accept",
+                methodType(BiConsumer.class),
+                CONSUMER_TYPE,
+                handle,
+                handle.type())
+            .getTarget()
+            .invokeExact();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiFunction<Object, Object, Object> generateFunction(
+      final MethodHandles.Lookup lookup, final MethodHandle handle) throws Throwable {
+    return (BiFunction<Object, Object, Object>)
+        LambdaMetafactory.metafactory(
+                lookup,
+                "apply",
+                methodType(BiFunction.class),
+                FUNCTION_TYPE,
+                handle,
+                handle.type().wrap())
+            .getTarget()
+            .invokeExact();
+  }
+
+  private static BiFunction<Object, Object, Object> adapt(final MethodHandle handle) {
+    final MethodHandle adapted = handle.asType(FUNCTION_TYPE);
+    return (observer, event) -> {
+      try {
+        return adapted.invokeExact(observer, event);
+      } catch (final Throwable throwable) {
+        throw ObservationService.<RuntimeException>rethrow(throwable);
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Throwable> T rethrow(final Throwable throwable) throws T {
+    throw (T) throwable;
   }
 
   private static MethodHandles.Lookup getLookupForClass(final Class<?> clazz)
       throws IllegalAccessException {
-    return isPublic(clazz.getModifiers()) ? LOOKUP : privateLookupIn(clazz, LOOKUP);
+    try {
+      return privateLookupIn(clazz, LOOKUP);
+    } catch (final IllegalAccessException exception) {
+      if (isPublic(clazz.getModifiers())) {
+        return LOOKUP;
+      }
+      throw exception;
+    }
   }
 
-  void observe(final Observer observer) throws ObservingException {
+  synchronized void observe(final Observer observer) throws ObservingException {
     final Class<? extends Observer> observerType = observer.getClass();
+    final Map<Class<? extends Event>, ObserverDefinition> definitions = new HashMap<>();
     stream(observerType.getDeclaredMethods())
         .filter(this::isEligibleForObservation)
-        .map(method -> getMethodHandle(observerType, method))
-        .collect(groupingBy(this::extractEventClass, toSet()))
+        .collect(groupingBy(this::extractEventClass, toList()))
         .forEach(
             (key, value) ->
-                observationsByEventType
-                    .computeIfAbsent(key, k -> new HashSet<>())
-                    .add(new ObserverDefinition(observer, value)));
+                definitions.put(
+                    key,
+                    new ObserverDefinition(
+                        observer,
+                        value.stream()
+                            .map(method -> getInvocation(observerType, method))
+                            .toArray(ObserverInvocation[]::new))));
+    registry = registry.with(definitions);
+  }
+
+  long getObservationVersion() {
+    return registry.version();
+  }
+
+  ObserverDispatcher getDispatcherByEventType(final Class<? extends Event> eventType) {
+    return registry.getDispatcher(eventType);
+  }
+
+  ObserverDispatcher getDispatcherByEventTypeAndTopic(
+      final Class<? extends Event> eventType, final String topic) {
+    return registry.getDispatcher(eventType, topic);
   }
 
-  Set<ObserverDefinition> getObservationsByEventType(final Class<? extends Event> eventType) {
-    return unmodifiableSet(observationsByEventType.getOrDefault(eventType, emptySet()));
+  private ObserverInvocation getInvocation(final Class<?> type, final Method method) {
+    final DispatchStrategy observedStrategy =
+        method.getAnnotation(Observe.class).dispatchStrategy();
+    return createInvocation(
+        type,
+        method,
+        observedStrategy == DispatchStrategy.DEFAULT ? dispatchStrategy : observedStrategy);
   }
 
   private boolean isEligibleForObservation(final Method method) {
@@ -89,7 +202,7 @@ final class ObservationService {
   }
 
   @SuppressWarnings("unchecked")
-  private Class<? extends Event> extractEventClass(final MethodHandle method) {
-    return (Class<? extends Event>) method.type().lastParameterType();
+  private Class<? extends Event> extractEventClass(final Method method) {
+    return (Class<? extends Event>) method.getParameterTypes()[0];
   }
 }
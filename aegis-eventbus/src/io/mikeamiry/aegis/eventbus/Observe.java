@@ -27,9 +27,14 @@ import java.lang.annotation.Target;
  * application. - Ensure the containing class implements the {@link Observer} interface and is
  * registered with the event bus.
  *
- * <p>Thread Safety: - The execution of annotated methods depends on the threading model of the
- * {@link java.util.concurrent.Executor} supplied to the {@link EventBusFactory}.
+ * <p>Thread Safety: - The execution of annotated methods depends on their {@link
+ * #dispatchStrategy()}, which defaults to the strategy of the {@link EventBus}, and on the
+ * threading model of the {@link java.util.concurrent.Executor} supplied to the {@link
+ * EventBusFactory}.
  */
 @Retention(RUNTIME)
 @Target(METHOD)
-public @interface Observe {}
+public @interface Observe {
+
+  DispatchStrategy dispatchStrategy() default DispatchStrategy.DEFAULT;
+}
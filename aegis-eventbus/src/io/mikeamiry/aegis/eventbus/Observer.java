@@ -18,7 +18,8 @@ package io.mikeamiry.aegis.eventbus;
  *
  * <p>Default Methods: - The default method `topic()` can be overridden to specify a unique topic
  * for this observer. If left unimplemented, it defaults to an empty string, indicating no specific
- * topic.
+ * topic. Topics containing {@code *} or {@code ?} are glob patterns when the observer is registered
+ * through a packet broker, receiving packets published on every matching channel.
  */
 public interface Observer {
 
@@ -0,0 +1,21 @@
+package io.mikeamiry.aegis.eventbus;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a chain of observer method calls, each link invoking a single method annotated with
+ * {@link Observe} before handing the event to the next link.
+ *
+ * <p>Links are {@link ObserverCallSite} instances, each of a hidden class of its own, so the calls
+ * performed by a link are never shared with another one. A failure of a method does not prevent the
+ * rest of the chain from running, it is returned once the whole chain was called instead, with the
+ * failures of later methods added as suppressed exceptions.
+ */
+interface ObserverCall {
+
+  @Nullable
+  EventPublishingException dispatch(
+      Event event,
+      ResultProcessorService resultProcessorService,
+      @Nullable EventPublishingException failure);
+}
@@ -0,0 +1,66 @@
+package io.mikeamiry.aegis.eventbus;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a single link of an {@link ObserverCall} chain, invoking one method of one observer.
+ *
+ * <p>This class is never instantiated as is. It serves as a template, whose bytes are defined again
+ * as a hidden class for every link by the {@link ObserverDispatcher}, so every link owns the call
+ * sites of its body, each of them seeing a single receiver class: the generated invoker of its
+ * method, and the link following it. The just-in-time compiler therefore binds and inlines every
+ * call of the chain, as if the observer methods were called one after another by hand, regardless
+ * of how many observer classes share the event bus.
+ *
+ * <p>As a consequence, this class must remain a top-level class, without lambdas, nested classes,
+ * or string concatenation, and must refer to other classes only through their own names.
+ */
+final class ObserverCallSite implements ObserverCall {
+
+  private final Object observer;
+  private final @Nullable BiConsumer<Object, Object> consumer;
+  private final @Nullable BiFunction<Object, Object, Object> function;
+  private final @Nullable ObserverCall next;
+
+  ObserverCallSite(
+      final Object observer,
+      final ObserverInvocation invocation,
+      final @Nullable ObserverCall next) {
+    this.observer = observer;
+    this.consumer = invocation.consumer();
+    this.function = invocation.function();
+    this.next = next;
+  }
+
+  @Override
+  public @Nullable EventPublishingException dispatch(
+      final Event event,
+      final ResultProcessorService resultProcessorService,
+      final @Nullable EventPublishingException failure) {
+    EventPublishingException aggregated = failure;
+    try {
+      if (consumer != null) {
+        consumer.accept(observer, event);
+      } else {
+        final Object returnedValue = function.apply(observer, event);
+        if (returnedValue != null && resultProcessorService.isProcessingRequired()) {
+          resultProcessorService.tryProcessing(event, returnedValue);
+        }
+      }
+    } catch (final Throwable throwable) {
+      final EventPublishingException exception =
+          new EventPublishingException(
+              "Could not publish event, because of unexpected throwable during method invocation.",
+              throwable);
+      if (aggregated == null) {
+        aggregated = exception;
+      } else {
+        aggregated.addSuppressed(exception);
+      }
+    }
+
+    return next == null ? aggregated : next.dispatch(event, resultProcessorService, aggregated);
+  }
+}
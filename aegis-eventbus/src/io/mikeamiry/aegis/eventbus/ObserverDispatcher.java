@@ -0,0 +1,125 @@
+package io.mikeamiry.aegis.eventbus;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the observers of an event type, or of an event type on a single topic, as generated
+ * chains of {@link ObserverCall}, one per {@link DispatchStrategy} of their methods.
+ *
+ * <p>Methods dispatched {@link DispatchStrategy#INLINE} and {@link DispatchStrategy#PER_EVENT} are
+ * each linked into a single chain, in registration order, while every method dispatched {@link
+ * DispatchStrategy#PER_INVOCATION} forms a chain of its own, as it runs in a task of its own.
+ *
+ * <p>Every link is an instance of a hidden class defined from the bytes of {@link
+ * ObserverCallSite}, so every link owns its call sites, and calling a chain calls the observer
+ * methods through monomorphic call sites only. Dispatchers are created once per event type and
+ * topic by the {@link ObserverRegistry} snapshot they belong to, and their classes are unloaded
+ * along with it once it is replaced.
+ */
+final class ObserverDispatcher {
+
+  static final ObserverDispatcher EMPTY = new ObserverDispatcher(null, null, new ObserverCall[0]);
+
+  private static final MethodHandles.Lookup LOOKUP = lookup();
+  private static final MethodType CALL_SITE_TYPE =
+      methodType(void.class, Object.class, ObserverInvocation.class, ObserverCall.class);
+  private static final byte[] CALL_SITE_TEMPLATE = readCallSiteTemplate();
+
+  private final @Nullable ObserverCall inline;
+  private final @Nullable ObserverCall perEvent;
+  private final ObserverCall[] perInvocation;
+
+  private ObserverDispatcher(
+      final @Nullable ObserverCall inline,
+      final @Nullable ObserverCall perEvent,
+      final ObserverCall[] perInvocation) {
+    this.inline = inline;
+    this.perEvent = perEvent;
+    this.perInvocation = perInvocation;
+  }
+
+  static ObserverDispatcher create(final List<ObserverDefinition> definitions) {
+    if (definitions.isEmpty()) {
+      return EMPTY;
+    }
+
+    ObserverCall inline = null;
+    ObserverCall perEvent = null;
+    final List<ObserverCall> perInvocation = new ArrayList<>();
+    for (int index = definitions.size() - 1; index >= 0; index--) {
+      final ObserverDefinition definition = definitions.get(index);
+      final ObserverInvocation[] invocations = definition.invocations();
+      for (int position = invocations.length - 1; position >= 0; position--) {
+        final ObserverInvocation invocation = invocations[position];
+        switch (invocation.dispatchStrategy()) {
+          case INLINE -> inline = link(definition.observer(), invocation, inline);
+          case PER_EVENT -> perEvent = link(definition.observer(), invocation, perEvent);
+          default -> perInvocation.add(link(definition.observer(), invocation, null));
+        }
+      }
+    }
+
+    Collections.reverse(perInvocation);
+    return new ObserverDispatcher(inline, perEvent, perInvocation.toArray(ObserverCall[]::new));
+  }
+
+  private static ObserverCall link(
+      final Observer observer,
+      final ObserverInvocation invocation,
+      final @Nullable ObserverCall next) {
+    try {
+      final MethodHandles.Lookup callSiteLookup =
+          LOOKUP.defineHiddenClass(CALL_SITE_TEMPLATE, true);
+      final MethodHandle constructor =
+          callSiteLookup.findConstructor(callSiteLookup.lookupClass(), CALL_SITE_TYPE);
+      return (ObserverCall) constructor.invoke(observer, invocation, next);
+    } catch (final Throwable throwable) {
+      throw new ObservingException(
+          "Could not generate call site for %s observer, because of unexpected throwable."
+              .formatted(observer.getClass().getName()),
+          throwable);
+    }
+  }
+
+  private static byte[] readCallSiteTemplate() {
+    try (final InputStream stream =
+        ObserverCallSite.class.getResourceAsStream("ObserverCallSite.class")) {
+      if (stream == null) {
+        throw new IOException("Missing class file of the call site template.");
+      }
+      return stream.readAllBytes();
+    } catch (final IOException exception) {
+      throw new ObservingException(
+          "Could not read call site template, because of unexpected exception.", exception);
+    }
+  }
+
+  boolean isEmpty() {
+    return inline == null && perEvent == null && perInvocation.length == 0;
+  }
+
+  @Nullable
+  ObserverCall inline() {
+    return inline;
+  }
+
+  @Nullable
+  ObserverCall perEvent() {
+    return perEvent;
+  }
+
+  ObserverCall[] perInvocation() {
+    return perInvocation;
+  }
+}
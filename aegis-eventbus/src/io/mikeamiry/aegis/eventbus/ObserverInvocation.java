@@ -0,0 +1,21 @@
+package io.mikeamiry.aegis.eventbus;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a single method annotated with {@link Observe}, together with the {@link
+ * DispatchStrategy} it is dispatched with, resolved against the strategy of the {@link EventBus}
+ * when its observer is registered, so it is never {@link DispatchStrategy#DEFAULT}.
+ *
+ * <p>The method is invoked through a {@link BiConsumer}, when it returns nothing, or a {@link
+ * BiFunction} otherwise, generated by the {@link ObservationService} as a class calling the method
+ * directly. Neither is called from here, but from the {@link ObserverCallSite} linking the method
+ * into the chains of an {@link ObserverDispatcher}, so every call site calling them sees a single
+ * generated class.
+ */
+record ObserverInvocation(
+    @Nullable BiConsumer<Object, Object> consumer,
+    @Nullable BiFunction<Object, Object, Object> function,
+    DispatchStrategy dispatchStrategy) {}
@@ -0,0 +1,141 @@
+package io.mikeamiry.aegis.eventbus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an immutable snapshot of the observers registered with the {@link EventBus}, grouped
+ * by the event type they observe.
+ *
+ * <p>Registering observers never modifies a snapshot; {@link #with(Map)} returns a new snapshot
+ * instead, numbered one above its predecessor, which the {@link ObservationService} publishes
+ * atomically. Readers therefore resolve observers without locking, and never witness a partially
+ * registered observer.
+ *
+ * <p>The observers of an event type are resolved once per snapshot, by walking its superclasses and
+ * then its interfaces, and cached in a {@link ClassValue} dispatch table, most specific event types
+ * first. Each entry also indexes those observers by their {@link Observer#topic()}, read once when
+ * the entry is resolved, so a publish targeting topics touches only the observers of these topics,
+ * while observers of the empty topic, observing the event type globally, are kept apart. Every
+ * group of observers is held as an {@link ObserverDispatcher}, generated when the entry is
+ * resolved.
+ */
+final class ObserverRegistry {
+
+  static final ObserverRegistry EMPTY = new ObserverRegistry(0, Map.of());
+
+  private final long version;
+  private final Map<Class<?>, ObserverDefinition[]> observationsByEventType;
+  private final ClassValue<Observations> dispatchTable;
+
+  private ObserverRegistry(
+      final long version, final Map<Class<?>, ObserverDefinition[]> observationsByEventType) {
+    this.version = version;
+    this.observationsByEventType = observationsByEventType;
+    this.dispatchTable =
+        new ClassValue<>() {
+          @Override
+          protected Observations computeValue(final Class<?> eventType) {
+            return Observations.index(resolveObservations(eventType));
+          }
+        };
+  }
+
+  ObserverRegistry with(final Map<Class<? extends Event>, ObserverDefinition> definitions) {
+    final Map<Class<?>, ObserverDefinition[]> observations = new HashMap<>(observationsByEventType);
+    definitions.forEach(
+        (eventType, definition) ->
+            observations.merge(
+                eventType,
+                new ObserverDefinition[] {definition},
+                (existing, added) -> {
+                  final ObserverDefinition[] merged =
+                      Arrays.copyOf(existing, existing.length + 1);
+                  merged[existing.length] = added[0];
+                  return merged;
+                }));
+    return new ObserverRegistry(version + 1, Map.copyOf(observations));
+  }
+
+  long version() {
+    return version;
+  }
+
+  ObserverDispatcher getDispatcher(final Class<?> eventType) {
+    return dispatchTable.get(eventType).all();
+  }
+
+  ObserverDispatcher getDispatcher(final Class<?> eventType, final String topic) {
+    final Observations observations = dispatchTable.get(eventType);
+    if (topic.isEmpty()) {
+      return observations.global();
+    }
+    return observations.byTopic().getOrDefault(topic, ObserverDispatcher.EMPTY);
+  }
+
+  private List<ObserverDefinition> resolveObservations(final Class<?> eventType) {
+    final List<ObserverDefinition> observations = new ArrayList<>();
+    for (final Class<?> type : getTypeHierarchy(eventType)) {
+      final ObserverDefinition[] definitions = observationsByEventType.get(type);
+      if (definitions != null) {
+        observations.addAll(Arrays.asList(definitions));
+      }
+    }
+    return observations;
+  }
+
+  private static Set<Class<?>> getTypeHierarchy(final Class<?> eventType) {
+    final Set<Class<?>> hierarchy = new LinkedHashSet<>();
+    for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+      hierarchy.add(type);
+    }
+
+    final Deque<Class<?>> pendingTypes = new ArrayDeque<>(hierarchy);
+    while (!pendingTypes.isEmpty()) {
+      for (final Class<?> implemented : pendingTypes.poll().getInterfaces()) {
+        if (hierarchy.add(implemented)) {
+          pendingTypes.add(implemented);
+        }
+      }
+    }
+    return hierarchy;
+  }
+
+  private record Observations(
+      ObserverDispatcher all,
+      ObserverDispatcher global,
+      Map<String, ObserverDispatcher> byTopic) {
+
+    private static final Observations EMPTY =
+        new Observations(ObserverDispatcher.EMPTY, ObserverDispatcher.EMPTY, Map.of());
+
+    private static Observations index(final List<ObserverDefinition> observations) {
+      if (observations.isEmpty()) {
+        return EMPTY;
+      }
+
+      final Map<String, List<ObserverDefinition>> observationsByTopic = new HashMap<>();
+      for (final ObserverDefinition definition : observations) {
+        observationsByTopic
+            .computeIfAbsent(definition.observer().topic(), topic -> new ArrayList<>())
+            .add(definition);
+      }
+
+      final List<ObserverDefinition> global = observationsByTopic.remove("");
+      final Map<String, ObserverDispatcher> byTopic = new HashMap<>();
+      observationsByTopic.forEach(
+          (topic, definitions) -> byTopic.put(topic, ObserverDispatcher.create(definitions)));
+      return new Observations(
+          ObserverDispatcher.create(observations),
+          global == null ? ObserverDispatcher.EMPTY : ObserverDispatcher.create(global),
+          Map.copyOf(byTopic));
+    }
+  }
+}